@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Runs the same k6 load against the app with platform and with virtual request threads,
+# with toxiproxy adding latency between the app and PostgreSQL.
+# Requires docker compose, curl, jq, k6 and a local JDK (for jfr). Results land in load-test/results.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+DB_LATENCY_MS=${DB_LATENCY_MS:-50}
+DB_POOL_SIZE=${DB_POOL_SIZE:-10}
+SEED_POSTS=${SEED_POSTS:-500}
+RESULTS_DIR=load-test/results
+COMPOSE="docker compose -f docker-compose.yml -f load-test/docker-compose.slow-db.yml"
+
+mkdir -p "$RESULTS_DIR"
+
+wait_for_app() {
+    for _ in $(seq 1 120); do
+        if curl -fs http://localhost:8181/actuator/health > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Application did not become healthy" >&2
+    return 1
+}
+
+configure_proxy() {
+    curl -fs -X POST http://localhost:8474/proxies \
+        -d '{"name":"postgres","listen":"0.0.0.0:15432","upstream":"postgres:5432"}' > /dev/null
+    curl -fs -X POST http://localhost:8474/proxies/postgres/toxics \
+        -d "{\"name\":\"latency\",\"type\":\"latency\",\"stream\":\"upstream\",\"attributes\":{\"latency\":${DB_LATENCY_MS}}}" > /dev/null
+}
+
+seed_posts() {
+    for i in $(seq 1 "$SEED_POSTS"); do
+        curl -fs -X POST http://localhost:8181/api/v1/posts -H 'Content-Type: application/json' \
+            -d "{\"title\":\"Load test post $i\",\"content\":\"Body $i\",\"isPublished\":true,\"userId\":1}" > /dev/null
+    done
+}
+
+run_mode() {
+    local mode=$1
+    local virtual=$2
+
+    $COMPOSE down -v > /dev/null 2>&1 || true
+    $COMPOSE up -d postgres toxiproxy
+    sleep 3
+    configure_proxy
+
+    VIRTUAL_THREADS=$virtual DB_POOL_SIZE=$DB_POOL_SIZE \
+        JAVA_OPTS="-XX:StartFlightRecording=filename=/tmp/app.jfr,settings=profile,dumponexit=true" \
+        $COMPOSE up -d --build app
+    wait_for_app
+    seed_posts
+
+    k6 run --summary-export "$RESULTS_DIR/$mode.json" load-test/posts-list.js
+    curl -fs http://localhost:8181/actuator/metrics/jvm.threads.live > "$RESULTS_DIR/$mode-threads.json" || true
+    $COMPOSE stop app
+    $COMPOSE cp app:/tmp/app.jfr "$RESULTS_DIR/$mode.jfr"
+    $COMPOSE logs app > "$RESULTS_DIR/$mode-app.log"
+    $COMPOSE down -v > /dev/null
+}
+
+run_mode platform false
+run_mode virtual true
+
+printf '%-10s %12s %12s %12s %10s %14s\n' mode req/s p50_ms p95_ms failed pinned_events
+for mode in platform virtual; do
+    summary="$RESULTS_DIR/$mode.json"
+    pinned=$(jfr summary "$RESULTS_DIR/$mode.jfr" | awk '$1 == "jdk.VirtualThreadPinned" { print $2 }')
+    printf '%-10s %12.1f %12.1f %12.1f %10.4f %14s\n' "$mode" \
+        "$(jq '.metrics.http_reqs.rate' "$summary")" \
+        "$(jq '.metrics.http_req_duration.med' "$summary")" \
+        "$(jq '.metrics.http_req_duration["p(95)"]' "$summary")" \
+        "$(jq '.metrics.http_req_failed.value' "$summary")" \
+        "$pinned"
+done
@@ -0,0 +1,26 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8181';
+const userId = Number(__ENV.USER_ID || 1);
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: __ENV.RAMP || '30s', target: Number(__ENV.VUS || 400) },
+                { duration: __ENV.HOLD || '60s', target: Number(__ENV.VUS || 400) },
+            ],
+        },
+    },
+};
+
+export default function () {
+    const body = JSON.stringify({ userId: userId, page: Math.floor(Math.random() * 10), size: 20 });
+    const response = http.post(`${baseUrl}/api/v1/posts/_list`, body, {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(response, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,53 @@
+package com.example.jsontoxml2.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImportJobConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${posts.import.jobs.workers:2}")
+    private int workers;
+
+    @Value("${posts.import.jobs.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${posts.import.validation.parallelism:0}")
+    private int validationParallelism;
+
+    @Value("${posts.import.validation.executor-queue-capacity:64}")
+    private int validationQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor postImportJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-import-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("post-import-", 0).factory());
+        }
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor postImportValidationExecutor() {
+        int threads = validationParallelism > 0 ? validationParallelism : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(validationQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("post-import-validation-");
+        return executor;
+    }
+
+}
@@ -1,14 +1,24 @@
 package com.example.jsontoxml2.controller;
 
+import com.example.jsontoxml2.model.dto.post.PostBulkRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostBulkResultDto;
+import com.example.jsontoxml2.model.dto.post.PostBulkUpdateRequestDto;
 import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostImportJobDto;
+import com.example.jsontoxml2.model.dto.post.PostImportResultDto;
 import com.example.jsontoxml2.model.dto.post.PostInfoDto;
 import com.example.jsontoxml2.model.dto.post.PostQueryDto;
 import com.example.jsontoxml2.model.dto.post.PostQueryWithPaginationDto;
+import com.example.jsontoxml2.model.dto.post.PostSnapshotResultDto;
 import com.example.jsontoxml2.model.dto.post.PostUpdateRequestDto;
+import com.example.jsontoxml2.service.PostImportJobService;
 import com.example.jsontoxml2.service.PostService;
+import com.example.jsontoxml2.service.report.ReportCompression;
+import com.example.jsontoxml2.service.report.ReportFormat;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -18,6 +28,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -33,6 +44,7 @@ import java.util.Map;
 public class PostController {
 
     private final PostService postService;
+    private final PostImportJobService postImportJobService;
 
     @GetMapping("/{id}")
     public ResponseEntity<PostInfoDto> getPostById(@PathVariable long id) {
@@ -60,12 +72,59 @@ public class PostController {
         return ResponseEntity.ok("Post deleted successfully.");
     }
 
+    @PostMapping("/{id}/like")
+    public ResponseEntity<String> likePost(@PathVariable long id) {
+        postService.likePost(id);
+        return ResponseEntity.accepted().body("Like accepted.");
+    }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<String> unlikePost(@PathVariable long id) {
+        postService.unlikePost(id);
+        return ResponseEntity.accepted().body("Unlike accepted.");
+    }
+
+    @PostMapping("/_bulk-delete")
+    public ResponseEntity<PostBulkResultDto> bulkDeletePosts(@Valid @RequestBody PostBulkRequestDto request) {
+        return ResponseEntity.ok(postService.bulkDeletePosts(request));
+    }
+
+    @PostMapping("/_bulk-update")
+    public ResponseEntity<PostBulkResultDto> bulkUpdatePosts(@Valid @RequestBody PostBulkUpdateRequestDto request) {
+        return ResponseEntity.ok(postService.bulkUpdatePosts(request));
+    }
+
+    @PostMapping("/_changes/snapshot")
+    public ResponseEntity<PostSnapshotResultDto> snapshotChanges(
+            @RequestParam(value = "afterId", defaultValue = "0") long afterId) {
+        return ResponseEntity.ok(postService.snapshotChanges(afterId));
+    }
+
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Integer>> uploadPosts(@RequestParam("file") MultipartFile file) {
-        Map<String, Integer> response = postService.importPosts(file);
+    public ResponseEntity<PostImportResultDto> uploadPosts(@RequestParam("file") MultipartFile file) {
+        PostImportResultDto response = postService.importPosts(file);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/upload", params = "async=true")
+    public ResponseEntity<PostImportJobDto> uploadPostsAsync(@RequestParam("file") MultipartFile file) {
+        var job = postImportJobService.submit(file);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create(String.format("/api/v1/posts/upload/%s", job.getJobId())))
+                .body(job);
+    }
+
+    @GetMapping("/upload/{jobId}")
+    public ResponseEntity<PostImportJobDto> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(postImportJobService.getJob(jobId));
+    }
+
+    @DeleteMapping("/upload/{jobId}")
+    public ResponseEntity<PostImportJobDto> cancelImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(postImportJobService.cancel(jobId));
+    }
+
     @PostMapping("/_list")
     public ResponseEntity<Map<String, Object>> getPostList(
             @Valid @RequestBody PostQueryWithPaginationDto postQueryWithPaginationDto) {
@@ -74,8 +133,12 @@ public class PostController {
     }
 
     @PostMapping(value = "/_report", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public void generateReport(HttpServletResponse response, @Valid @RequestBody PostQueryDto postQueryDto) {
-        postService.generateCSVReport(response, postQueryDto);
+    public void generateReport(HttpServletResponse response, @Valid @RequestBody PostQueryDto postQueryDto,
+                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                               @RequestParam(value = "compression", required = false) String compression,
+                               @RequestParam(value = "format", required = false) String format) {
+        postService.generateReport(response, postQueryDto, ReportFormat.fromName(format),
+                ReportCompression.negotiate(acceptEncoding, compression));
     }
 
 }
@@ -0,0 +1,52 @@
+package com.example.jsontoxml2.mapper;
+
+import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostEventDto;
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import com.example.jsontoxml2.model.dto.post.PostInfoDto;
+import com.example.jsontoxml2.model.dto.post.PostUpdateRequestDto;
+import com.example.jsontoxml2.model.entity.Post;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PostMapper {
+
+    private final UserMapper userMapper;
+
+    public Post toPost(PostCreateRequestDto postCreateRequestDto) {
+        Post post = new Post();
+        post.setTitle(postCreateRequestDto.getTitle());
+        post.setContent(postCreateRequestDto.getContent());
+        post.setIsPublished(postCreateRequestDto.getIsPublished());
+        post.setUser(userMapper.toUserReference(postCreateRequestDto.getUserId()));
+        return post;
+    }
+
+    public Post toPost(PostUpdateRequestDto postUpdateRequestDto) {
+        Post post = new Post();
+        post.setTitle(postUpdateRequestDto.getTitle());
+        post.setContent(postUpdateRequestDto.getContent());
+        post.setIsPublished(postUpdateRequestDto.getIsPublished());
+        post.setLikesCount(postUpdateRequestDto.getLikesCount());
+        post.setUser(userMapper.toUserReference(postUpdateRequestDto.getUserId()));
+        return post;
+    }
+
+    public PostInfoDto toInfoDto(Post post) {
+        return new PostInfoDto(post.getId(), post.getTitle(), post.getContent(), post.getIsPublished(),
+                post.getLikesCount(), userMapper.toInfoDto(post.getUser()));
+    }
+
+    public PostEventDto toEventDto(Post post, PostEventType type) {
+        return new PostEventDto(type, post.getId(), post.getUser().getId(), post.getTitle(), post.getContent(),
+                post.getIsPublished(), post.getLikesCount());
+    }
+
+    public PostEventDto toEventDto(PostInfoDto post, PostEventType type) {
+        return new PostEventDto(type, post.getId(), post.getUser().getId(), post.getTitle(), post.getContent(),
+                post.getIsPublished(), post.getLikesCount());
+    }
+
+}
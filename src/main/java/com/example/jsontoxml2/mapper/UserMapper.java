@@ -0,0 +1,36 @@
+package com.example.jsontoxml2.mapper;
+
+import com.example.jsontoxml2.model.dto.user.UserInfoDto;
+import com.example.jsontoxml2.model.dto.user.UserSaveDto;
+import com.example.jsontoxml2.model.entity.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper {
+
+    public User toUser(UserSaveDto userSaveDto) {
+        User user = new User();
+        user.setUsername(userSaveDto.getUsername());
+        user.setEmail(userSaveDto.getEmail());
+        return user;
+    }
+
+    public User toUserReference(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(userId);
+        return user;
+    }
+
+    public UserInfoDto toInfoDto(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        return new UserInfoDto(user.getId(), user.getUsername(), user.getEmail());
+    }
+
+}
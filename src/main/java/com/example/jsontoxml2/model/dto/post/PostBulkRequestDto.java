@@ -0,0 +1,31 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostBulkRequestDto {
+
+    private List<@NotNull Long> ids;
+
+    @Valid
+    private PostQueryDto filter;
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of ids or filter must be provided")
+    public boolean isIdsOrFilterPresent() {
+        return (ids == null) != (filter == null);
+    }
+
+}
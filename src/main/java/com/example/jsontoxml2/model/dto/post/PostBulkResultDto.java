@@ -0,0 +1,16 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostBulkResultDto {
+
+    private long affectedPosts;
+
+}
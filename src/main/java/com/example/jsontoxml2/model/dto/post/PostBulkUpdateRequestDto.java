@@ -0,0 +1,28 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostBulkUpdateRequestDto extends PostBulkRequestDto {
+
+    @JsonProperty("isPublished")
+    private Boolean isPublished;
+
+    @PositiveOrZero(message = "Likes count must be a positive integer or 0")
+    private Integer likesCount;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one of isPublished or likesCount must be provided")
+    public boolean isChangePresent() {
+        return isPublished != null || likesCount != null;
+    }
+
+}
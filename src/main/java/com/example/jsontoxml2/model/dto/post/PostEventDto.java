@@ -0,0 +1,22 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostEventDto {
+
+    private PostEventType type;
+    private Long postId;
+    private Long userId;
+    private String title;
+    private String content;
+    private Boolean isPublished;
+    private Integer likesCount;
+
+}
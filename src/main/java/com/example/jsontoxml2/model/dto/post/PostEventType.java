@@ -0,0 +1,26 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PostEventType {
+
+    CREATED((byte) 1),
+    UPDATED((byte) 2),
+    DELETED((byte) 3),
+    SNAPSHOT((byte) 4);
+
+    private final byte code;
+
+    public static PostEventType fromCode(byte code) {
+        for (PostEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown post event type: " + code);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostImportErrorDto {
+
+    private long index;
+    private int line;
+    private String reason;
+
+}
@@ -0,0 +1,27 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostImportJobDto {
+
+    private String jobId;
+    private PostImportJobStatus status;
+    private long processedRows;
+    private long successfulImports;
+    private long failedImports;
+    private double rowsPerSecond;
+    private String errorMessage;
+    private List<PostImportErrorDto> errors;
+
+}
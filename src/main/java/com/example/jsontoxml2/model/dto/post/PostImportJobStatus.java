@@ -0,0 +1,12 @@
+package com.example.jsontoxml2.model.dto.post;
+
+public enum PostImportJobStatus {
+
+    QUEUED,
+    RUNNING,
+    CANCELLING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+
+}
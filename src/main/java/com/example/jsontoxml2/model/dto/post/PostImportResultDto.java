@@ -0,0 +1,20 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostImportResultDto {
+
+    private long successfulImports;
+    private long failedImports;
+    private List<PostImportErrorDto> errors;
+
+}
@@ -1,8 +1,10 @@
 package com.example.jsontoxml2.model.dto.post;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,7 +16,6 @@ import lombok.Setter;
 @AllArgsConstructor
 public class PostQueryDto {
 
-    @NotNull
     @JsonProperty("userId")
     private Long userId;
 
@@ -24,4 +25,21 @@ public class PostQueryDto {
     @PositiveOrZero(message = "Parameter must be a positive integer or 0")
     private Integer likesCount;
 
+    @PositiveOrZero(message = "Parameter must be a positive integer or 0")
+    private Integer maxLikesCount;
+
+    @Size(max = 200, message = "Search must be at most 200 characters")
+    private String search;
+
+    @JsonIgnore
+    @AssertTrue(message = "likesCount must not be greater than maxLikesCount")
+    public boolean isLikesRangeValid() {
+        return likesCount == null || maxLikesCount == null || likesCount <= maxLikesCount;
+    }
+
+    @JsonIgnore
+    public boolean hasCriteria() {
+        return userId != null || isPublished != null || likesCount != null || maxLikesCount != null;
+    }
+
 }
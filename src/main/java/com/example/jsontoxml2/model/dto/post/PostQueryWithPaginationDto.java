@@ -1,5 +1,7 @@
 package com.example.jsontoxml2.model.dto.post;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -12,7 +14,6 @@ import lombok.Setter;
 @NoArgsConstructor
 public class PostQueryWithPaginationDto extends PostQueryDto{
 
-    @NotNull
     @PositiveOrZero(message = "Parameter must be a positive integer or 0")
     private Integer page;
 
@@ -20,4 +21,21 @@ public class PostQueryWithPaginationDto extends PostQueryDto{
     @Positive(message = "Parameter must be a positive integer greater than 0")
     private Integer size;
 
+    private String cursor;
+
+    private PostTotalMode totalMode;
+
+    private PostSort sort;
+
+    @JsonIgnore
+    public boolean isCursorMode() {
+        return cursor != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Either page or cursor must be provided")
+    public boolean isPageOrCursorPresent() {
+        return page != null || cursor != null;
+    }
+
 }
@@ -0,0 +1,20 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSnapshotResultDto {
+
+    private long afterId;
+    private long lastPostId;
+    private long snapshottedPosts;
+    private long deletedPosts;
+    private boolean hasMore;
+
+}
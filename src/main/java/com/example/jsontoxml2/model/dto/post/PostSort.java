@@ -0,0 +1,16 @@
+package com.example.jsontoxml2.model.dto.post;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+@Getter
+@RequiredArgsConstructor
+public enum PostSort {
+
+    ID(Sort.by("id")),
+    LIKES_DESC(Sort.by(Sort.Order.desc("likesCount"), Sort.Order.desc("id")));
+
+    private final Sort sort;
+
+}
@@ -0,0 +1,8 @@
+package com.example.jsontoxml2.model.dto.post;
+
+public enum PostTotalMode {
+
+    EXACT,
+    ESTIMATED
+
+}
@@ -0,0 +1,33 @@
+package com.example.jsontoxml2.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "deleted_posts", indexes = {
+        @Index(name = "indexDeletedAtAndPostId", columnList = "deleted_at, post_id")
+})
+public class DeletedPost {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+}
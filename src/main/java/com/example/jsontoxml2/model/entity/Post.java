@@ -15,8 +15,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.CurrentTimestamp;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.generator.EventType;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Getter
@@ -25,10 +30,10 @@ import org.hibernate.annotations.OnDeleteAction;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "posts", indexes = {
-        @Index(name = "user_index", columnList = "user_id"),
-        @Index(name = "multiIndexUserAndPublished", columnList = "user_id, published"),
+        @Index(name = "multiIndexUserAndId", columnList = "user_id, id"),
         @Index(name = "multiIndexUserAndLikedCount", columnList = "user_id, likes_count"),
-        @Index(name = "multiIndexUserAndFilters", columnList = "user_id, published, likes_count")
+        @Index(name = "multiIndexUserAndFilters", columnList = "user_id, published, likes_count"),
+        @Index(name = "indexUpdatedAtAndId", columnList = "updated_at, id")
 })
 public class Post {
 
@@ -48,13 +53,14 @@ public class Post {
     @Column(name = "likes_count")
     private Integer likesCount = 0;
 
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
-    public String toCSV() {
-        return String.format("%d;%s;%s;%d;%b;%d", id, title, content, likesCount, isPublished, user.getId());
-    }
+    @Column(name = "updated_at")
+    @CurrentTimestamp(event = EventType.UPDATE, source = SourceType.DB)
+    private LocalDateTime updatedAt;
 
 }
@@ -0,0 +1,64 @@
+package com.example.jsontoxml2.model.entity;
+
+import com.example.jsontoxml2.model.dto.post.PostImportJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "post_import_jobs", indexes = {
+        @Index(name = "indexImportJobsFinishedAt", columnList = "finished_at")
+})
+public class PostImportJobState {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private PostImportJobStatus status;
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "successful_imports", nullable = false)
+    private long successfulImports;
+
+    @Column(name = "failed_imports", nullable = false)
+    private long failedImports;
+
+    @Column(name = "error_message", length = 4096)
+    private String errorMessage;
+
+    @Column(name = "errors", length = 1_048_576)
+    private String errors;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+}
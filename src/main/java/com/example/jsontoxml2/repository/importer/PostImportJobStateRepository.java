@@ -0,0 +1,22 @@
+package com.example.jsontoxml2.repository.importer;
+
+import com.example.jsontoxml2.model.entity.PostImportJobState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostImportJobStateRepository extends JpaRepository<PostImportJobState, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<PostImportJobState> findWithLockById(String id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PostImportJobState> findByFinishedAtIsNullAndUpdatedAtBefore(Instant updatedAt);
+
+    long deleteByFinishedAtBefore(Instant finishedAt);
+
+}
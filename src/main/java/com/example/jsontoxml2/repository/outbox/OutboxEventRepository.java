@@ -0,0 +1,7 @@
+package com.example.jsontoxml2.repository.outbox;
+
+import com.example.jsontoxml2.model.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventRepositoryCustom {
+}
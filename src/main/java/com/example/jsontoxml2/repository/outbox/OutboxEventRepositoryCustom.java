@@ -0,0 +1,23 @@
+package com.example.jsontoxml2.repository.outbox;
+
+import com.example.jsontoxml2.model.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepositoryCustom {
+
+    void batchInsert(List<OutboxEvent> events);
+
+    List<OutboxEvent> lockShardHead(int shard, int limit);
+
+    void deleteByIds(Collection<Long> ids);
+
+    void recordFailedAttempt(long id, int attempts, LocalDateTime parkedAt);
+
+    long countPending();
+
+    long countParked();
+
+}
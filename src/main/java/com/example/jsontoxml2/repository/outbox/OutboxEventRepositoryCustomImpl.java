@@ -0,0 +1,82 @@
+package com.example.jsontoxml2.repository.outbox;
+
+import com.example.jsontoxml2.model.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events (topic, event_key, shard, payload, created_at, "
+            + "attempts) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String MIN_ID_SQL = "SELECT MIN(id) FROM outbox_events WHERE shard = ? AND parked_at IS NULL";
+    private static final String LOCK_BATCH_SQL = "SELECT id, topic, event_key, shard, payload, created_at, attempts "
+            + "FROM outbox_events WHERE shard = ? AND parked_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ?";
+    private static final String RECORD_FAILED_ATTEMPT_SQL =
+            "UPDATE outbox_events SET attempts = ?, parked_at = ? WHERE id = ?";
+    private static final String COUNT_PENDING_SQL = "SELECT COUNT(*) FROM outbox_events WHERE parked_at IS NULL";
+    private static final String COUNT_PARKED_SQL = "SELECT COUNT(*) FROM outbox_events WHERE parked_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (preparedStatement, event) -> {
+            preparedStatement.setString(1, event.getTopic());
+            preparedStatement.setString(2, event.getEventKey());
+            preparedStatement.setInt(3, event.getShard());
+            preparedStatement.setBytes(4, event.getPayload());
+            preparedStatement.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+
+    @Override
+    public List<OutboxEvent> lockShardHead(int shard, int limit) {
+        List<OutboxEvent> events = jdbcTemplate.query(LOCK_BATCH_SQL, (resultSet, rowNumber) -> {
+            OutboxEvent event = new OutboxEvent();
+            event.setId(resultSet.getLong("id"));
+            event.setTopic(resultSet.getString("topic"));
+            event.setEventKey(resultSet.getString("event_key"));
+            event.setShard(resultSet.getInt("shard"));
+            event.setPayload(resultSet.getBytes("payload"));
+            event.setCreatedAt(resultSet.getTimestamp("created_at").toLocalDateTime());
+            event.setAttempts(resultSet.getInt("attempts"));
+            return event;
+        }, shard, limit);
+
+        if (events.isEmpty()) {
+            return events;
+        }
+        Long headId = jdbcTemplate.queryForObject(MIN_ID_SQL, Long.class, shard);
+        return events.get(0).getId().equals(headId) ? events : List.of();
+    }
+
+    @Override
+    public void deleteByIds(Collection<Long> ids) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(),
+                (preparedStatement, id) -> preparedStatement.setLong(1, id));
+    }
+
+    @Override
+    public void recordFailedAttempt(long id, int attempts, LocalDateTime parkedAt) {
+        jdbcTemplate.update(RECORD_FAILED_ATTEMPT_SQL, attempts, parkedAt == null ? null : Timestamp.valueOf(parkedAt),
+                id);
+    }
+
+    @Override
+    public long countPending() {
+        return jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class);
+    }
+
+    @Override
+    public long countParked() {
+        return jdbcTemplate.queryForObject(COUNT_PARKED_SQL, Long.class);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.jsontoxml2.repository.post;
+
+import com.example.jsontoxml2.model.entity.DeletedPost;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeletedPostRepository extends JpaRepository<DeletedPost, Long> {
+
+    List<DeletedPost> findByPostIdBetweenOrderByPostId(long fromPostId, long toPostId);
+
+    @Query("select d from DeletedPost d where d.deletedAt > :deletedAt"
+            + " or (d.deletedAt = :deletedAt and d.postId > :afterPostId) order by d.deletedAt, d.postId")
+    List<DeletedPost> findDeletedAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                       @Param("afterPostId") long afterPostId, Limit limit);
+
+}
@@ -0,0 +1,16 @@
+package com.example.jsontoxml2.repository.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostCountBucket {
+
+    private final long userId;
+    private final boolean published;
+    private final int likesBucket;
+    private final long count;
+    private final int maxLikes;
+
+}
@@ -0,0 +1,65 @@
+package com.example.jsontoxml2.repository.post;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PostCursor {
+
+    private static final String ID_PREFIX = "v1:";
+    private static final String LIKES_PREFIX = "v2:";
+
+    private final Integer likesCount;
+    private final long id;
+
+    public static PostCursor afterId(long id) {
+        return new PostCursor(null, id);
+    }
+
+    public static PostCursor afterLikes(int likesCount, long id) {
+        return new PostCursor(likesCount, id);
+    }
+
+    public boolean isLikesCursor() {
+        return likesCount != null;
+    }
+
+    public String encode() {
+        String plain = likesCount == null ? ID_PREFIX + id : LIKES_PREFIX + likesCount + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+
+        try {
+            if (decoded.startsWith(ID_PREFIX)) {
+                return afterId(Long.parseLong(decoded.substring(ID_PREFIX.length())));
+            }
+            if (decoded.startsWith(LIKES_PREFIX)) {
+                String[] parts = decoded.substring(LIKES_PREFIX.length()).split(":", -1);
+                if (parts.length == 2) {
+                    return afterLikes(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+}
@@ -1,20 +1,25 @@
 package com.example.jsontoxml2.repository.post;
 
 import com.example.jsontoxml2.model.entity.Post;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post> {
+public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post>, PostRepositoryCustom {
 
-    List<Post> findAll(Specification<Post> spec);
+    @EntityGraph(attributePaths = "user")
+    Optional<Post> findById(Long id);
 
-    Page<Post> findAll(Specification<Post> spec, Pageable pageable);
+    List<Post> findAll(Specification<Post> spec);
 
     long count(Specification<Post> spec);
 
+    @Query("select max(p.id) from Post p")
+    Long findMaxId();
+
 }
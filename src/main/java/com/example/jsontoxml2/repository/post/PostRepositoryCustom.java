@@ -0,0 +1,49 @@
+package com.example.jsontoxml2.repository.post;
+
+import com.example.jsontoxml2.model.entity.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface PostRepositoryCustom {
+
+    void batchInsert(List<Post> posts);
+
+    void addLikes(Map<Long, Long> likesDeltaByPostId);
+
+    Stream<Post> streamAll(Specification<Post> spec, int fetchSize);
+
+    List<Post> findSlice(Specification<Post> spec, Sort sort, long offset, int limit);
+
+    Page<Post> findPageWithTotal(Specification<Post> spec, Pageable pageable);
+
+    List<Long> findIdsMatching(Collection<Long> ids, Specification<Post> spec);
+
+    List<Post> findAllWithUserByIds(Collection<Long> ids);
+
+    List<Post> lockForSnapshot(long afterId, long toId);
+
+    List<Post> lockForUpdate(Collection<Long> ids);
+
+    List<Post> lockForUpdate(Specification<Post> spec, long afterId, int limit);
+
+    List<Post> findUpdatedAfter(LocalDateTime updatedAt, long afterId, int limit);
+
+    LocalDateTime findCurrentTimestamp();
+
+    int deleteByIds(Collection<Long> ids);
+
+    int deleteByUserId(long userId);
+
+    int updateByIds(Collection<Long> ids, Boolean isPublished, Integer likesCount);
+
+    List<PostCountBucket> countByLikesBuckets(Collection<Long> userIds, int[] likesBucketLowerBounds);
+
+}
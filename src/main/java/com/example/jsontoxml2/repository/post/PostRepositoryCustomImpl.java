@@ -0,0 +1,308 @@
+package com.example.jsontoxml2.repository.post;
+
+import com.example.jsontoxml2.model.entity.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private static final String INSERT_POST_SQL =
+            "INSERT INTO posts (title, content, published, likes_count, user_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String ADD_LIKES_SQL =
+            "UPDATE posts SET likes_count = GREATEST(likes_count + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void batchInsert(List<Post> posts) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_POST_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement preparedStatement, int index) throws SQLException {
+                        Post post = posts.get(index);
+                        preparedStatement.setString(1, post.getTitle());
+                        preparedStatement.setString(2, post.getContent());
+                        preparedStatement.setBoolean(3, post.getIsPublished());
+                        preparedStatement.setInt(4, post.getLikesCount());
+                        preparedStatement.setLong(5, post.getUser().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return posts.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int index = 0; index < keys.size(); index++) {
+            posts.get(index).setId(((Number) keys.get(index).values().iterator().next()).longValue());
+        }
+    }
+
+    @Override
+    public void addLikes(Map<Long, Long> likesDeltaByPostId) {
+        List<Map.Entry<Long, Long>> deltas = new ArrayList<>(likesDeltaByPostId.entrySet());
+        deltas.sort(Map.Entry.comparingByKey());
+        jdbcTemplate.batchUpdate(ADD_LIKES_SQL, deltas, deltas.size(), (preparedStatement, delta) -> {
+            preparedStatement.setLong(1, delta.getValue());
+            preparedStatement.setLong(2, delta.getKey());
+        });
+    }
+
+    @Override
+    public Stream<Post> streamAll(Specification<Post> spec, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Post> query = criteriaBuilder.createQuery(Post.class);
+        Root<Post> root = query.from(Post.class);
+        applyPredicate(query, root, criteriaBuilder, spec);
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(this::detach);
+    }
+
+    @Override
+    public List<Post> findSlice(Specification<Post> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Post> query = criteriaBuilder.createQuery(Post.class);
+        Root<Post> root = query.from(Post.class);
+        root.fetch("user");
+        applyPredicate(query, root, criteriaBuilder, spec);
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Page<Post> findPageWithTotal(Specification<Post> spec, Pageable pageable) {
+        HibernateCriteriaBuilder criteriaBuilder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Post> root = query.from(Post.class);
+        root.fetch("user");
+        query.multiselect(root, criteriaBuilder.count(root.get("id"), criteriaBuilder.createWindow()));
+        applyPredicate(query, root, criteriaBuilder, spec);
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            long total = pageable.getOffset() == 0 ? 0 : count(spec);
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        List<Post> content = rows.stream().map(row -> row.get(0, Post.class)).toList();
+        long total = rows.get(0).get(1, Long.class);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<Long> findIdsMatching(Collection<Long> ids, Specification<Post> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(root.get("id"));
+        applyPredicate(query, root, criteriaBuilder, spec.and((r, q, cb) -> r.get("id").in(ids)));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Post> findAllWithUserByIds(Collection<Long> ids) {
+        return entityManager.createQuery("select p from Post p join fetch p.user where p.id in :ids", Post.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public List<Post> lockForSnapshot(long afterId, long toId) {
+        return entityManager.createQuery(
+                        "select p from Post p where p.id > :afterId and p.id <= :toId order by p.id", Post.class)
+                .setParameter("afterId", afterId)
+                .setParameter("toId", toId)
+                .setLockMode(LockModeType.PESSIMISTIC_READ)
+                .getResultList();
+    }
+
+    @Override
+    public List<Post> lockForUpdate(Collection<Long> ids) {
+        return entityManager.createQuery("select p from Post p where p.id in :ids order by p.id", Post.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .map(this::detach)
+                .toList();
+    }
+
+    @Override
+    public List<Post> lockForUpdate(Specification<Post> spec, long afterId, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Post> query = criteriaBuilder.createQuery(Post.class);
+        Root<Post> root = query.from(Post.class);
+        applyPredicate(query, root, criteriaBuilder, spec.and(PostSpecifications.withIdGreaterThan(afterId)));
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .map(this::detach)
+                .toList();
+    }
+
+    @Override
+    public List<Post> findUpdatedAfter(LocalDateTime updatedAt, long afterId, int limit) {
+        return entityManager.createQuery("select p from Post p join fetch p.user where p.updatedAt > :updatedAt"
+                        + " or (p.updatedAt = :updatedAt and p.id > :afterId) order by p.updatedAt, p.id", Post.class)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public LocalDateTime findCurrentTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        entityManager.createQuery("insert into DeletedPost (postId, userId, deletedAt)"
+                        + " select p.id, p.user.id, local datetime from Post p where p.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return entityManager.createQuery("delete from Post p where p.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteByUserId(long userId) {
+        entityManager.createQuery("insert into DeletedPost (postId, userId, deletedAt)"
+                        + " select p.id, p.user.id, local datetime from Post p where p.user.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        return entityManager.createQuery("delete from Post p where p.user.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int updateByIds(Collection<Long> ids, Boolean isPublished, Integer likesCount) {
+        List<String> assignments = new ArrayList<>();
+        assignments.add("p.updatedAt = local datetime");
+        if (isPublished != null) {
+            assignments.add("p.isPublished = :isPublished");
+        }
+        if (likesCount != null) {
+            assignments.add("p.likesCount = :likesCount");
+        }
+
+        Query query = entityManager.createQuery("update Post p set " + String.join(", ", assignments)
+                + " where p.id in :ids");
+        query.setParameter("ids", ids);
+        if (isPublished != null) {
+            query.setParameter("isPublished", isPublished);
+        }
+        if (likesCount != null) {
+            query.setParameter("likesCount", likesCount);
+        }
+        return query.executeUpdate();
+    }
+
+    @Override
+    public List<PostCountBucket> countByLikesBuckets(Collection<Long> userIds, int[] likesBucketLowerBounds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder bucketExpression = new StringBuilder("CASE");
+        for (int bucket = likesBucketLowerBounds.length - 1; bucket > 0; bucket--) {
+            bucketExpression.append(" WHEN likes_count >= ").append(likesBucketLowerBounds[bucket])
+                    .append(" THEN ").append(bucket);
+        }
+        bucketExpression.append(" ELSE 0 END");
+
+        String placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        String sql = "SELECT user_id, published, likes_bucket, COUNT(*) AS posts_count, MAX(likes_count) AS max_likes"
+                + " FROM (SELECT user_id, COALESCE(published, FALSE) AS published, likes_count, "
+                + bucketExpression + " AS likes_bucket "
+                + "FROM posts WHERE user_id IN (" + placeholders + ")"
+                + ") buckets GROUP BY user_id, published, likes_bucket";
+
+        return jdbcTemplate.query(sql, (resultSet, rowNumber) -> new PostCountBucket(
+                resultSet.getLong("user_id"),
+                resultSet.getBoolean("published"),
+                resultSet.getInt("likes_bucket"),
+                resultSet.getLong("posts_count"),
+                resultSet.getInt("max_likes")), userIds.toArray());
+    }
+
+    private long count(Specification<Post> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(criteriaBuilder.count(root));
+        applyPredicate(query, root, criteriaBuilder, spec);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applyPredicate(CriteriaQuery<?> query, Root<Post> root, CriteriaBuilder criteriaBuilder,
+                                Specification<Post> spec) {
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private Post detach(Post post) {
+        entityManager.detach(post);
+        return post;
+    }
+
+}
@@ -7,20 +7,42 @@ import org.springframework.data.jpa.domain.Specification;
 
 public class PostSpecifications {
 
-    public static Specification<Post> withUserIdAndFilters(PostQueryDto filters) {
+    public static Specification<Post> withFilters(PostQueryDto filters) {
         return (root, query, criteriaBuilder) -> {
-            Predicate predicate = criteriaBuilder.equal(root.get("user").get("id"), filters.getUserId());
+            Predicate predicate = criteriaBuilder.conjunction();
+
+            if (filters.getUserId() != null) {
+                predicate = criteriaBuilder.and(predicate, criteriaBuilder.equal(root.get("user").get("id"), filters.getUserId()));
+            }
 
             if (filters.getLikesCount() != null) {
                 predicate = criteriaBuilder.and(predicate, criteriaBuilder.greaterThanOrEqualTo(root.get("likesCount"), filters.getLikesCount()));
             }
 
+            if (filters.getMaxLikesCount() != null) {
+                predicate = criteriaBuilder.and(predicate, criteriaBuilder.lessThanOrEqualTo(root.get("likesCount"), filters.getMaxLikesCount()));
+            }
+
             if (filters.getIsPublished() != null) {
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.equal(root.get("isPublished"), filters.getIsPublished()));
+                predicate = criteriaBuilder.and(predicate, filters.getIsPublished()
+                        ? criteriaBuilder.isTrue(root.get("isPublished"))
+                        : criteriaBuilder.isFalse(root.get("isPublished")));
             }
 
             return predicate;
         };
     }
 
+    public static Specification<Post> withIdGreaterThan(Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Post> withLikesAndIdBefore(int likesCount, long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(root.get("likesCount"), likesCount),
+                criteriaBuilder.or(
+                        criteriaBuilder.lessThan(root.get("likesCount"), likesCount),
+                        criteriaBuilder.lessThan(root.get("id"), id)));
+    }
+
 }
@@ -0,0 +1,265 @@
+package com.example.jsontoxml2.service;
+
+import com.example.jsontoxml2.model.dto.post.PostImportErrorDto;
+import com.example.jsontoxml2.model.dto.post.PostImportJobDto;
+import com.example.jsontoxml2.model.dto.post.PostImportJobStatus;
+import com.example.jsontoxml2.model.entity.PostImportJobState;
+import com.example.jsontoxml2.repository.importer.PostImportJobStateRepository;
+import com.example.jsontoxml2.service.importer.PostImportJob;
+import com.example.jsontoxml2.service.importer.PostImportReport;
+import com.example.jsontoxml2.service.importer.PostImporter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class PostImportJobService {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 4096;
+    private static final TypeReference<List<PostImportErrorDto>> ERRORS_TYPE = new TypeReference<>() {
+    };
+
+    private final PostImporter postImporter;
+    @Qualifier("postImportJobExecutor")
+    private final ThreadPoolTaskExecutor postImportJobExecutor;
+    private final PostImportJobStateRepository postImportJobStateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, PostImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${posts.import.jobs.spool-dir:${java.io.tmpdir}}")
+    private String spoolDir;
+
+    @Value("${posts.import.jobs.retention-ms:3600000}")
+    private long retentionMillis;
+
+    @Value("${posts.import.jobs.stale-after-ms:60000}")
+    private long staleAfterMillis;
+
+    public PostImportJobDto submit(MultipartFile file) {
+        validateFile(file);
+        String jobId = UUID.randomUUID().toString();
+        PostImportJob job = new PostImportJob(jobId, spool(file, jobId), postImporter.newReport());
+
+        PostImportJobState state = new PostImportJobState();
+        state.setId(jobId);
+        state.setCreatedAt(Instant.now());
+        copyProgress(job, state);
+        postImportJobStateRepository.save(state);
+
+        jobs.put(jobId, job);
+        try {
+            postImportJobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(jobId);
+            postImportJobStateRepository.deleteById(jobId);
+            deleteSpoolFile(job);
+            throw e;
+        }
+
+        return toDto(job);
+    }
+
+    public PostImportJobDto getJob(String jobId) {
+        PostImportJob job = jobs.get(jobId);
+        return job != null ? toDto(job) : toDto(findState(jobId));
+    }
+
+    public PostImportJobDto cancel(String jobId) {
+        PostImportJob job = jobs.get(jobId);
+        if (job != null) {
+            cancel(job);
+            return toDto(job);
+        }
+
+        PostImportJobState state = transactionTemplate.execute(status -> {
+            PostImportJobState locked = postImportJobStateRepository.findWithLockById(jobId)
+                    .orElseThrow(() -> jobNotFound(jobId));
+            if (locked.getFinishedAt() == null) {
+                locked.setCancelRequested(true);
+            }
+            return locked;
+        });
+        return toDto(state);
+    }
+
+    @Scheduled(fixedDelayString = "${posts.import.jobs.progress-interval-ms:1000}")
+    public void publishProgress() {
+        jobs.values().forEach(this::publishProgress);
+    }
+
+    @Scheduled(fixedDelayString = "${posts.import.jobs.cleanup-interval-ms:300000}")
+    public void evictFinishedJobs() {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            postImportJobStateRepository.deleteByFinishedAtBefore(now.minusMillis(retentionMillis));
+            for (PostImportJobState state : postImportJobStateRepository
+                    .findByFinishedAtIsNullAndUpdatedAtBefore(now.minusMillis(staleAfterMillis))) {
+                if (!jobs.containsKey(state.getId())) {
+                    state.setStatus(PostImportJobStatus.FAILED);
+                    state.setErrorMessage("Import job was interrupted before it finished");
+                    state.setFinishedAt(now);
+                    state.setUpdatedAt(now);
+                }
+            }
+        });
+    }
+
+    private void run(PostImportJob job) {
+        if (!job.start()) {
+            return;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(job.getSpoolFile())) {
+            postImporter.importPosts(inputStream, job.getReport());
+            job.finish(job.getReport().isCancelled() ? PostImportJobStatus.CANCELLED : PostImportJobStatus.COMPLETED,
+                    null);
+        } catch (IOException e) {
+            job.finish(PostImportJobStatus.FAILED, "Failed to import data due to I/O error");
+        } catch (RuntimeException e) {
+            job.finish(PostImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            deleteSpoolFile(job);
+            publishProgress(job);
+        }
+    }
+
+    private void cancel(PostImportJob job) {
+        job.getReport().cancel();
+        if (job.cancelIfQueued()) {
+            deleteSpoolFile(job);
+            publishProgress(job);
+        }
+    }
+
+    private void publishProgress(PostImportJob job) {
+        boolean cancelRequested = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                postImportJobStateRepository.findWithLockById(job.getId())
+                        .map(state -> {
+                            copyProgress(job, state);
+                            return state.isCancelRequested() && !job.isFinished();
+                        })
+                        .orElse(false)));
+        if (job.isFinished()) {
+            jobs.remove(job.getId());
+        } else if (cancelRequested && !job.getReport().isCancelled()) {
+            cancel(job);
+        }
+    }
+
+    private void copyProgress(PostImportJob job, PostImportJobState state) {
+        PostImportReport report = job.getReport();
+        state.setStatus(job.getStatus());
+        state.setProcessedRows(report.getProcessedRows());
+        state.setSuccessfulImports(report.getSuccessfulImports());
+        state.setFailedImports(report.getFailedImports());
+        state.setStartedAt(job.getStartedAt());
+        state.setFinishedAt(job.getFinishedAt());
+        state.setUpdatedAt(Instant.now());
+        if (job.isFinished()) {
+            String errorMessage = job.getErrorMessage();
+            state.setErrorMessage(errorMessage == null
+                    ? null
+                    : StringUtils.truncate(errorMessage, MAX_ERROR_MESSAGE_LENGTH));
+            state.setErrors(writeErrors(report.getErrors()));
+        }
+    }
+
+    private PostImportJobState findState(String jobId) {
+        return postImportJobStateRepository.findById(jobId).orElseThrow(() -> jobNotFound(jobId));
+    }
+
+    private EntityNotFoundException jobNotFound(String jobId) {
+        return new EntityNotFoundException("Import job not found with id: " + jobId);
+    }
+
+    private void validateFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("The provided file is empty");
+        }
+    }
+
+    private Path spool(MultipartFile file, String jobId) {
+        Path spoolFile = Path.of(spoolDir).resolve("posts-import-" + jobId + ".json");
+        try {
+            file.transferTo(spoolFile);
+            return spoolFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool the uploaded file", e);
+        }
+    }
+
+    private void deleteSpoolFile(PostImportJob job) {
+        try {
+            Files.deleteIfExists(job.getSpoolFile());
+        } catch (IOException ignored) {
+        }
+    }
+
+    private String writeErrors(List<PostImportErrorDto> errors) {
+        try {
+            return objectMapper.writeValueAsString(errors);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the import errors", e);
+        }
+    }
+
+    private List<PostImportErrorDto> readErrors(String errors) {
+        if (errors == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(errors, ERRORS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read the import errors", e);
+        }
+    }
+
+    private PostImportJobDto toDto(PostImportJob job) {
+        PostImportReport report = job.getReport();
+        return new PostImportJobDto(job.getId(), job.getStatus(), report.getProcessedRows(),
+                report.getSuccessfulImports(), report.getFailedImports(), job.getRowsPerSecond(),
+                job.getErrorMessage(), job.isFinished() ? report.getErrors() : null);
+    }
+
+    private PostImportJobDto toDto(PostImportJobState state) {
+        boolean finished = state.getFinishedAt() != null;
+        PostImportJobStatus status = !finished && state.isCancelRequested()
+                ? PostImportJobStatus.CANCELLING
+                : state.getStatus();
+        double rowsPerSecond = 0;
+        if (state.getStartedAt() != null) {
+            Instant end = finished ? state.getFinishedAt() : state.getUpdatedAt();
+            long elapsedMillis = Math.max(Duration.between(state.getStartedAt(), end).toMillis(), 1);
+            rowsPerSecond = state.getProcessedRows() * 1000.0 / elapsedMillis;
+        }
+        return new PostImportJobDto(state.getId(), status, state.getProcessedRows(), state.getSuccessfulImports(),
+                state.getFailedImports(), rowsPerSecond, state.getErrorMessage(),
+                finished ? readErrors(state.getErrors()) : null);
+    }
+
+}
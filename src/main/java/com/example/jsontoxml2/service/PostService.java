@@ -1,115 +1,274 @@
 package com.example.jsontoxml2.service;
 
+import com.example.jsontoxml2.mapper.PostMapper;
+import com.example.jsontoxml2.model.dto.post.PostBulkRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostBulkResultDto;
+import com.example.jsontoxml2.model.dto.post.PostBulkUpdateRequestDto;
 import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import com.example.jsontoxml2.model.dto.post.PostImportResultDto;
 import com.example.jsontoxml2.model.dto.post.PostInfoDto;
 import com.example.jsontoxml2.model.dto.post.PostQueryDto;
 import com.example.jsontoxml2.model.dto.post.PostQueryWithPaginationDto;
+import com.example.jsontoxml2.model.dto.post.PostSnapshotResultDto;
+import com.example.jsontoxml2.model.dto.post.PostSort;
+import com.example.jsontoxml2.model.dto.post.PostTotalMode;
 import com.example.jsontoxml2.model.dto.post.PostUpdateRequestDto;
 import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.repository.post.PostCursor;
 import com.example.jsontoxml2.repository.post.PostRepository;
 import com.example.jsontoxml2.repository.post.PostSpecifications;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.jsontoxml2.service.cache.CacheInvalidationBus;
+import com.example.jsontoxml2.service.cache.CacheInvalidationKind;
+import com.example.jsontoxml2.service.cache.PostInfoCache;
+import com.example.jsontoxml2.service.cdc.PostChangeStream;
+import com.example.jsontoxml2.service.counter.PostCounterStore;
+import com.example.jsontoxml2.service.importer.PostImportReport;
+import com.example.jsontoxml2.service.importer.PostImporter;
+import com.example.jsontoxml2.service.likes.PostLikeAccumulator;
+import com.example.jsontoxml2.service.report.PostReportWriter;
+import com.example.jsontoxml2.service.report.PostReportWriterFactory;
+import com.example.jsontoxml2.service.report.ReportCompression;
+import com.example.jsontoxml2.service.report.ReportFormat;
+import com.example.jsontoxml2.service.search.PostSearchIndex;
+import com.example.jsontoxml2.service.search.PostSearchResult;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validation;
-import jakarta.validation.Validator;
-import jakarta.validation.ValidatorFactory;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
     private final PostRepository postRepository;
-    private final ModelMapper modelMapper;
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private final PostMapper postMapper;
+    private final PostImporter postImporter;
+    private final PostReportWriterFactory postReportWriterFactory;
+    private final PostCounterStore postCounterStore;
+    private final PostInfoCache postInfoCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final PostLikeAccumulator postLikeAccumulator;
+    private final PostSearchIndex postSearchIndex;
+    private final PostChangeStream postChangeStream;
 
-    public PostInfoDto getPostById(Long id) {
-        Post postById = postRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + id));
+    @Value("${posts.bulk.batch-size:1000}")
+    private int bulkBatchSize;
+
+    @Value("${posts.search.max-hits:1000}")
+    private int searchMaxHits;
+
+    @Value("${posts.report.fetch-size:1000}")
+    private int reportFetchSize;
+
+    @Value("${posts.report.flush-interval-rows:1000}")
+    private int reportFlushIntervalRows;
 
-        return modelMapper.map(postById, PostInfoDto.class);
+    public PostInfoDto getPostById(Long id) {
+        return postInfoCache.get(id, this::loadPostById);
     }
 
     public PostInfoDto addPost(PostCreateRequestDto postDto) {
-        Post post = modelMapper.map(postDto, Post.class);
-        Post savedPost = postRepository.save(post);
-        return modelMapper.map(savedPost, PostInfoDto.class);
+        Post post = postMapper.toPost(postDto);
+        Post savedPost = transactionTemplate.execute(status -> {
+            Post saved = postRepository.save(post);
+            postChangeStream.append(postMapper.toEventDto(saved, PostEventType.CREATED));
+            return saved;
+        });
+        postCounterStore.recordCreated(postDto.getUserId(), savedPost.getIsPublished(), savedPost.getLikesCount());
+        cacheInvalidationBus.publish(CacheInvalidationKind.USER_POST_COUNTS, postDto.getUserId());
+        postSearchIndex.index(savedPost.getId(), postDto.getUserId(), savedPost.getTitle(), savedPost.getContent());
+        return postMapper.toInfoDto(savedPost);
     }
 
     public void updatePost(long id, PostUpdateRequestDto updatedPostDto) {
-        getPostById(id);
-        Post post = modelMapper.map(updatedPostDto, Post.class);
+        PostInfoDto existingPost = getPostById(id);
+        Post post = postMapper.toPost(updatedPostDto);
         post.setId(id);
-        postRepository.save(post);
+        transactionTemplate.executeWithoutResult(status -> {
+            lockPost(id);
+            Post saved = postRepository.save(post);
+            postChangeStream.append(postMapper.toEventDto(saved, PostEventType.UPDATED));
+        });
+        postInfoCache.evict(id);
+        postSearchIndex.index(id, updatedPostDto.getUserId(), updatedPostDto.getTitle(), updatedPostDto.getContent());
+        cacheInvalidationBus.publish(CacheInvalidationKind.POST_DOCUMENT, id);
+        cacheInvalidationBus.publish(CacheInvalidationKind.USER_POST_COUNTS, existingPost.getUser().getId());
+        cacheInvalidationBus.publish(CacheInvalidationKind.USER_POST_COUNTS, updatedPostDto.getUserId());
+        postCounterStore.recordUpdated(existingPost.getUser().getId(), existingPost.getIsPublished(),
+                existingPost.getLikesCount(), updatedPostDto.getUserId(), updatedPostDto.getIsPublished(),
+                updatedPostDto.getLikesCount());
     }
 
     public void deletePost(Long id) {
-        getPostById(id);
-        postRepository.deleteById(id);
+        PostInfoDto existingPost = getPostById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            Post lockedPost = lockPost(id);
+            postRepository.deleteByIds(List.of(id));
+            postChangeStream.append(postMapper.toEventDto(lockedPost, PostEventType.DELETED));
+        });
+        postInfoCache.evict(id);
+        postSearchIndex.delete(id);
+        cacheInvalidationBus.publish(CacheInvalidationKind.POST_DOCUMENT, id);
+        cacheInvalidationBus.publish(CacheInvalidationKind.USER_POST_COUNTS, existingPost.getUser().getId());
+        postCounterStore.recordDeleted(existingPost.getUser().getId(), existingPost.getIsPublished(),
+                existingPost.getLikesCount());
     }
 
-    public Map<String, Integer> importPosts(MultipartFile file) {
-        int successfulImports = 0;
-        int failedImports = 0;
-
-        List<PostCreateRequestDto> postsFromFile = readPostsFromFile(file);
+    public void likePost(Long id) {
+        getPostById(id);
+        postLikeAccumulator.add(id, 1);
+    }
 
-        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
-            Validator validator = validatorFactory.getValidator();
+    public void unlikePost(Long id) {
+        getPostById(id);
+        postLikeAccumulator.add(id, -1);
+    }
 
-            for (PostCreateRequestDto postCreateRequestDto : postsFromFile) {
-                Set<ConstraintViolation<PostCreateRequestDto>> violations = validator.validate(postCreateRequestDto);
+    public PostBulkResultDto bulkDeletePosts(PostBulkRequestDto request) {
+        return applyInBatches(request, posts -> {
+            postRepository.deleteByIds(posts.stream().map(Post::getId).toList());
+            postChangeStream.appendAll(posts, PostEventType.DELETED);
+        }, ids -> ids.forEach(postSearchIndex::delete));
+    }
 
-                if (violations.isEmpty()) {
-                    try {
-                        Post post = modelMapper.map(postCreateRequestDto, Post.class);
-                        postRepository.save(post);
-                        successfulImports++;
-                    } catch (Exception e) {
-                        failedImports++;
-                    }
-                } else {
-                    failedImports++;
+    public PostBulkResultDto bulkUpdatePosts(PostBulkUpdateRequestDto request) {
+        return applyInBatches(request, posts -> {
+            postRepository.updateByIds(posts.stream().map(Post::getId).toList(), request.getIsPublished(),
+                    request.getLikesCount());
+            for (Post post : posts) {
+                if (request.getIsPublished() != null) {
+                    post.setIsPublished(request.getIsPublished());
+                }
+                if (request.getLikesCount() != null) {
+                    post.setLikesCount(request.getLikesCount());
                 }
             }
-        }
+            postChangeStream.appendAll(posts, PostEventType.UPDATED);
+        }, ids -> { });
+    }
 
-        return buildResponseMap(successfulImports, failedImports);
+    public PostSnapshotResultDto snapshotChanges(long afterId) {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("afterId must not be negative");
+        }
+        return postChangeStream.snapshot(afterId);
     }
 
-    private List<PostCreateRequestDto> readPostsFromFile(MultipartFile file) {
+    public PostImportResultDto importPosts(MultipartFile file) {
+        validateFile(file);
+        PostImportReport report = postImporter.newReport();
+
         try (InputStream inputStream = file.getInputStream()) {
-            validateFile(file);
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            return objectMapper.readValue(inputStream, new TypeReference<>() {});
+            postImporter.importPosts(inputStream, report);
         } catch (FileNotFoundException e) {
             throw new IllegalArgumentException("The provided file does not exist");
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("The provided file has invalid JSON format", e);
         } catch (IOException e) {
             throw new RuntimeException("Failed to import data due to I/O error");
         }
+
+        return report.toResultDto();
+    }
+
+    private PostBulkResultDto applyInBatches(PostBulkRequestDto request, Consumer<List<Post>> operation,
+                                             Consumer<List<Long>> afterBatch) {
+        if (request.getFilter() != null && StringUtils.hasText(request.getFilter().getSearch())) {
+            throw new IllegalArgumentException("Search is not supported for bulk operations");
+        }
+        if (request.getFilter() != null && !request.getFilter().hasCriteria()) {
+            throw new IllegalArgumentException("Bulk filter must contain at least one criterion");
+        }
+
+        long affectedPosts = 0;
+        if (request.getIds() != null) {
+            List<Long> ids = request.getIds();
+            for (int from = 0; from < ids.size(); from += bulkBatchSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + bulkBatchSize, ids.size()));
+                affectedPosts += applyToBatch(() -> postRepository.lockForUpdate(chunk), operation, afterBatch)
+                        .size();
+            }
+            return new PostBulkResultDto(affectedPosts);
+        }
+
+        Specification<Post> spec = PostSpecifications.withFilters(request.getFilter());
+        long afterId = 0;
+        List<Post> batch;
+        do {
+            long lastId = afterId;
+            batch = applyToBatch(() -> postRepository.lockForUpdate(spec, lastId, bulkBatchSize), operation,
+                    afterBatch);
+            affectedPosts += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == bulkBatchSize);
+        return new PostBulkResultDto(affectedPosts);
+    }
+
+    private List<Post> applyToBatch(Supplier<List<Post>> lock, Consumer<List<Post>> operation,
+                                    Consumer<List<Long>> afterBatch) {
+        List<Post> affectedPosts = transactionTemplate.execute(status -> {
+            List<Post> locked = lock.get();
+            if (!locked.isEmpty()) {
+                operation.accept(locked);
+            }
+            return locked;
+        });
+        if (affectedPosts == null || affectedPosts.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = affectedPosts.stream().map(Post::getId).toList();
+        afterBatch.accept(ids);
+
+        ids.forEach(postInfoCache::evict);
+        Set<Long> userIds = affectedPosts.stream().map(post -> post.getUser().getId())
+                .collect(Collectors.toSet());
+        userIds.forEach(userId -> {
+            postCounterStore.evictUser(userId);
+            cacheInvalidationBus.publish(CacheInvalidationKind.USER, userId);
+        });
+        return affectedPosts;
+    }
+
+    private Post lockPost(Long id) {
+        return postRepository.lockForUpdate(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + id));
+    }
+
+    private PostInfoDto loadPostById(Long id) {
+        Post postById = postRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + id));
+
+        return postMapper.toInfoDto(postById);
     }
 
     private void validateFile(MultipartFile file) {
@@ -118,63 +277,155 @@ public class PostService {
         }
     }
 
-    private Map<String, Integer> buildResponseMap(int successfulImports, int failedImports) {
-        return Map.ofEntries(
-                Map.entry("successfulImports", successfulImports),
-                Map.entry("failedImports", failedImports)
-        );
+    public Map<String, Object> getPostsByUserIdAndFilters(PostQueryWithPaginationDto filters) {
+        if (StringUtils.hasText(filters.getSearch())) {
+            return searchPosts(filters);
+        }
+        validateSort(filters);
+        if (filters.isCursorMode()) {
+            return getPostsAfterCursor(filters);
+        }
+        if (filters.getTotalMode() == PostTotalMode.ESTIMATED && filters.getUserId() != null
+                && filters.getMaxLikesCount() == null) {
+            return getPostsWithEstimatedTotal(filters);
+        }
+
+        Page<Post> filteredPosts = postRepository.findPageWithTotal(PostSpecifications.withFilters(filters),
+                PageRequest.of(filters.getPage(), filters.getSize(), sortOf(filters)));
+
+        return buildResponse(filteredPosts.getContent(), filteredPosts.getTotalPages());
     }
 
-    public Map<String, Object> getPostsByUserIdAndFilters(PostQueryWithPaginationDto filters) {
-        List<Post> filteredPosts = getCustomerListFromPage(filters);
-        int totalPages = calculateTotalPages(filters);
+    private Map<String, Object> searchPosts(PostQueryWithPaginationDto filters) {
+        if (filters.isCursorMode()) {
+            throw new IllegalArgumentException("Cursor pagination is not supported together with search");
+        }
 
-        return buildResponse(filteredPosts, totalPages);
+        PostSearchResult searchResult = postSearchIndex.search(filters.getSearch(), filters.getUserId(),
+                searchMaxHits);
+        List<Long> rankedIds = searchResult.getRankedIds();
+        if (!rankedIds.isEmpty()) {
+            Set<Long> matchingIds = new HashSet<>(postRepository.findIdsMatching(rankedIds,
+                    PostSpecifications.withFilters(filters)));
+            rankedIds = rankedIds.stream().filter(matchingIds::contains).toList();
+        }
+
+        int pageSize = filters.getSize();
+        int from = (int) Math.min((long) filters.getPage() * pageSize, rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, Math.min(from + pageSize, rankedIds.size()));
+        List<Post> pagePosts = List.of();
+        if (!pageIds.isEmpty()) {
+            Map<Long, Post> postsById = postRepository.findAllWithUserByIds(pageIds).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+            pagePosts = pageIds.stream().map(postsById::get).filter(Objects::nonNull).toList();
+        }
+
+        Map<String, Object> response = buildResponse(pagePosts, (int) Math.ceil((double) rankedIds.size() / pageSize));
+        if (searchResult.isTruncated()) {
+            response.put("totalEstimated", true);
+        }
+        return response;
     }
 
-    private List<Post> getCustomerListFromPage(PostQueryWithPaginationDto filters) {
-        int pageNumber = filters.getPage();
+    private Map<String, Object> getPostsWithEstimatedTotal(PostQueryWithPaginationDto filters) {
         int pageSize = filters.getSize();
-        Page<Post> filteredPosts = postRepository.findAll(PostSpecifications.withUserIdAndFilters(filters),
-                PageRequest.of(pageNumber, pageSize));
+        List<Post> filteredPosts = postRepository.findSlice(PostSpecifications.withFilters(filters),
+                sortOf(filters), (long) filters.getPage() * pageSize, pageSize);
+        long estimatedTotal = postCounterStore.count(filters.getUserId(), filters.getIsPublished(),
+                filters.getLikesCount());
 
-        return filteredPosts.hasContent() ? filteredPosts.getContent() : Collections.emptyList();
+        Map<String, Object> response = buildResponse(filteredPosts, (int) Math.ceil((double) estimatedTotal / pageSize));
+        response.put("totalEstimated", true);
+        return response;
     }
 
-    private int calculateTotalPages(PostQueryWithPaginationDto filters) {
-        long countFilteredPosts = postRepository.count(PostSpecifications.withUserIdAndFilters(filters));
+    private Map<String, Object> getPostsAfterCursor(PostQueryWithPaginationDto filters) {
+        boolean byLikes = filters.getSort() == PostSort.LIKES_DESC;
         int pageSize = filters.getSize();
-        return (int) Math.ceil((double) countFilteredPosts / pageSize);
+        PostCursor cursor = PostCursor.decode(filters.getCursor());
+        if (cursor != null && cursor.isLikesCursor() != byLikes) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+
+        Specification<Post> spec = PostSpecifications.withFilters(filters);
+        if (cursor != null) {
+            spec = spec.and(byLikes
+                    ? PostSpecifications.withLikesAndIdBefore(cursor.getLikesCount(), cursor.getId())
+                    : PostSpecifications.withIdGreaterThan(cursor.getId()));
+        }
+        List<Post> posts = postRepository.findSlice(spec, sortOf(filters), 0, pageSize + 1);
+
+        boolean hasNext = posts.size() > pageSize;
+        List<Post> pagePosts = hasNext ? posts.subList(0, pageSize) : posts;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Post last = pagePosts.get(pageSize - 1);
+            nextCursor = (byLikes
+                    ? PostCursor.afterLikes(last.getLikesCount(), last.getId())
+                    : PostCursor.afterId(last.getId())).encode();
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("list", mapToInfoDtoList(pagePosts));
+        response.put("nextCursor", nextCursor);
+        response.put("hasNext", hasNext);
+        return response;
+    }
+
+    private void validateSort(PostQueryWithPaginationDto filters) {
+        if (filters.getSort() == PostSort.LIKES_DESC && filters.getUserId() == null
+                && !Boolean.TRUE.equals(filters.getIsPublished())) {
+            throw new IllegalArgumentException("Sorting posts of all users by likes requires isPublished to be true");
+        }
+    }
+
+    private Sort sortOf(PostQueryWithPaginationDto filters) {
+        return (filters.getSort() == null ? PostSort.ID : filters.getSort()).getSort();
     }
 
     private Map<String, Object> buildResponse(List<Post> filteredPosts, int totalPages) {
         Map<String, Object> response = new LinkedHashMap<>();
-        List<PostInfoDto> postInfoDtoList = filteredPosts.stream()
-                .map(post -> modelMapper.map(post, PostInfoDto.class))
-                .collect(Collectors.toList());
-
-        response.put("list", postInfoDtoList);
+        response.put("list", mapToInfoDtoList(filteredPosts));
         response.put("totalPages", totalPages);
         return response;
     }
 
-    public void generateCSVReport(HttpServletResponse response, PostQueryDto filters) {
-        response.setContentType("text/csv");
-        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report.csv");
+    private List<PostInfoDto> mapToInfoDtoList(List<Post> posts) {
+        return posts.stream()
+                .map(postMapper::toInfoDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public void generateReport(HttpServletResponse response, PostQueryDto filters, ReportFormat format,
+                               ReportCompression compression) {
+        if (StringUtils.hasText(filters.getSearch())) {
+            throw new IllegalArgumentException("Search is not supported for reports");
+        }
 
-        try {
-            var csvContent = new StringBuilder();
-            csvContent.append("Post ID;Title;Content;Likes Count;Published;User ID\n");
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report." + format.getFileExtension());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compression != ReportCompression.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, compression.getEncoding());
+        }
 
-            List<Post> filteredPosts = postRepository.findAll(PostSpecifications.withUserIdAndFilters(filters));
-            for (var post : filteredPosts) {
-                csvContent.append(String.format("%s%n", post.toCSV()));
-            }
+        try (Stream<Post> filteredPosts = postRepository.streamAll(PostSpecifications.withFilters(filters),
+                reportFetchSize);
+             PostReportWriter writer = postReportWriterFactory.open(format,
+                     compression.wrap(response.getOutputStream()))) {
+            writer.flush();
 
-            response.getOutputStream().write(csvContent.toString().getBytes());
-            response.getOutputStream().flush();
+            long rowsWritten = 0;
+            for (Iterator<Post> iterator = filteredPosts.iterator(); iterator.hasNext(); ) {
+                writer.write(iterator.next());
+                if (++rowsWritten % reportFlushIntervalRows == 0) {
+                    writer.flush();
+                }
+            }
         } catch (IOException e) {
-            throw new RuntimeException("Error generating text file", e);
+            throw new RuntimeException("Error generating report file", e);
         }
     }
 
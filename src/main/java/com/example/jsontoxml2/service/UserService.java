@@ -1,16 +1,23 @@
 package com.example.jsontoxml2.service;
 
+import com.example.jsontoxml2.mapper.UserMapper;
 import com.example.jsontoxml2.model.dto.user.UserSaveDto;
 import com.example.jsontoxml2.model.dto.user.UserInfoDto;
 import com.example.jsontoxml2.model.entity.User;
+import com.example.jsontoxml2.repository.post.PostRepository;
 import com.example.jsontoxml2.repository.user.UserRepository;
+import com.example.jsontoxml2.service.cache.CacheInvalidationBus;
+import com.example.jsontoxml2.service.cache.CacheInvalidationKind;
+import com.example.jsontoxml2.service.cache.PostInfoCache;
+import com.example.jsontoxml2.service.counter.PostCounterStore;
+import com.example.jsontoxml2.service.outbox.OutboxWriter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,8 +26,12 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final PostRepository postRepository;
+    private final UserMapper userMapper;
+    private final OutboxWriter outboxWriter;
+    private final PostCounterStore postCounterStore;
+    private final PostInfoCache postInfoCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Value("${kafka.topic.email}")
     private String emailTopic;
@@ -28,7 +39,7 @@ public class UserService {
     public List<UserInfoDto> getAllUsers() {
         List<User> users = userRepository.findAll();
         return users.stream()
-                .map(user -> modelMapper.map(user, UserInfoDto.class))
+                .map(userMapper::toInfoDto)
                 .collect(Collectors.toList());
     }
 
@@ -37,26 +48,34 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
     }
 
+    @Transactional
     public UserInfoDto addUser(UserSaveDto newUserSaveDto) {
-        User user = modelMapper.map(newUserSaveDto, User.class);
+        User user = userMapper.toUser(newUserSaveDto);
         User savedUser = userRepository.save(user);
 
-        String recipientEmail = newUserSaveDto.getEmail();
-        kafkaTemplate.send(emailTopic, recipientEmail);
+        outboxWriter.append(emailTopic, String.valueOf(savedUser.getId()),
+                newUserSaveDto.getEmail().getBytes(StandardCharsets.UTF_8));
 
-        return modelMapper.map(savedUser, UserInfoDto.class);
+        return userMapper.toInfoDto(savedUser);
     }
 
     public void updateUser(Long id, UserSaveDto updatedUserSaveDto) {
         getUserById(id);
-        User user = modelMapper.map(updatedUserSaveDto, User.class);
+        User user = userMapper.toUser(updatedUserSaveDto);
         user.setId(id);
         userRepository.save(user);
+        postInfoCache.evictByUser(id);
+        cacheInvalidationBus.publish(CacheInvalidationKind.USER, id);
     }
 
+    @Transactional
     public void deleteUser(Long id) {
         getUserById(id);
+        postRepository.deleteByUserId(id);
         userRepository.deleteById(id);
+        postCounterStore.evictUser(id);
+        postInfoCache.evictByUser(id);
+        cacheInvalidationBus.publish(CacheInvalidationKind.USER, id);
     }
 
 }
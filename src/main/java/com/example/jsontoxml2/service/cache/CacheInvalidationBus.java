@@ -0,0 +1,110 @@
+package com.example.jsontoxml2.service.cache;
+
+import com.example.jsontoxml2.service.counter.PostCounterStore;
+import com.example.jsontoxml2.service.search.PostSearchIndex;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationBus implements ConsumerSeekAware {
+
+    private static final String SEPARATOR = ":";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final PostInfoCache postInfoCache;
+    private final PostCounterStore postCounterStore;
+    private final PostSearchIndex postSearchIndex;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Map<String, Long> lastSequenceByNode = new ConcurrentHashMap<>();
+
+    @Value("${posts.cache.invalidation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${posts.cache.invalidation.topic:cache-invalidation}")
+    private String topic;
+
+    public void publish(CacheInvalidationKind kind, Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+
+        publishLock.lock();
+        try {
+            String event = String.join(SEPARATOR, nodeId, Long.toString(sequence.incrementAndGet()),
+                    kind.getCode(), Long.toString(id));
+            kafkaTemplate.send(topic, nodeId, event);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    @KafkaListener(id = "cacheInvalidation",
+            topics = "${posts.cache.invalidation.topic:cache-invalidation}",
+            groupId = "#{'cache-invalidation-' + __listener.nodeId}",
+            autoStartup = "${posts.cache.invalidation.enabled:false}",
+            properties = "auto.offset.reset=latest")
+    public void onEvent(String event) {
+        String[] parts = event.split(SEPARATOR);
+        if (parts.length != 4) {
+            return;
+        }
+
+        String originNodeId = parts[0];
+        if (nodeId.equals(originNodeId)) {
+            return;
+        }
+
+        long eventSequence = Long.parseLong(parts[1]);
+        Long previousSequence = lastSequenceByNode.put(originNodeId, eventSequence);
+        if (previousSequence != null && eventSequence != previousSequence + 1) {
+            resetLocalCaches();
+            return;
+        }
+
+        apply(CacheInvalidationKind.fromCode(parts[2]), Long.parseLong(parts[3]));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        lastSequenceByNode.clear();
+        resetLocalCaches();
+    }
+
+    private void apply(CacheInvalidationKind kind, long id) {
+        switch (kind) {
+            case POST -> postInfoCache.evict(id);
+            case POST_DOCUMENT -> {
+                postInfoCache.evict(id);
+                postSearchIndex.reindex(id);
+            }
+            case USER -> {
+                postInfoCache.evictByUser(id);
+                postCounterStore.evictUser(id);
+            }
+            case USER_POST_COUNTS -> postCounterStore.evictUser(id);
+        }
+    }
+
+    private void resetLocalCaches() {
+        postInfoCache.evictAll();
+        postCounterStore.evictAll();
+    }
+
+}
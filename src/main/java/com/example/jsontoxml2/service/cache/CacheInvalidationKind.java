@@ -0,0 +1,26 @@
+package com.example.jsontoxml2.service.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum CacheInvalidationKind {
+
+    POST("P"),
+    POST_DOCUMENT("D"),
+    USER("U"),
+    USER_POST_COUNTS("C");
+
+    private final String code;
+
+    public static CacheInvalidationKind fromCode(String code) {
+        for (CacheInvalidationKind kind : values()) {
+            if (kind.code.equals(code)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache invalidation kind: " + code);
+    }
+
+}
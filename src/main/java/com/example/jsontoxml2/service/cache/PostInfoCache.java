@@ -0,0 +1,47 @@
+package com.example.jsontoxml2.service.cache;
+
+import com.example.jsontoxml2.model.dto.post.PostInfoDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class PostInfoCache {
+
+    private final Cache<Long, PostInfoDto> postsById;
+
+    public PostInfoCache(@Value("${posts.cache.max-size:10000}") long maxSize,
+                         @Value("${posts.cache.ttl-ms:60000}") long ttlMs,
+                         MeterRegistry meterRegistry) {
+        this.postsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, postsById, "postsById");
+    }
+
+    public PostInfoDto get(Long id, Function<Long, PostInfoDto> loader) {
+        return postsById.get(id, loader);
+    }
+
+    public void evict(Long id) {
+        postsById.invalidate(id);
+    }
+
+    public void evictByUser(Long userId) {
+        postsById.asMap().values().removeIf(post -> post.getUser() != null
+                && userId.equals(post.getUser().getId()));
+    }
+
+    public void evictAll() {
+        postsById.invalidateAll();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.example.jsontoxml2.service.cdc;
+
+import com.example.jsontoxml2.model.dto.post.PostEventDto;
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+public class PostChangeEventCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    public byte[] encode(PostEventDto event) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(64);
+        output.write(FORMAT_VERSION);
+        output.write(event.getType().getCode());
+        writeVarLong(output, event.getPostId());
+        writeVarLong(output, event.getUserId());
+        if (event.getType() == PostEventType.DELETED) {
+            return output.toByteArray();
+        }
+
+        output.write(Boolean.TRUE.equals(event.getIsPublished()) ? 1 : 0);
+        writeVarLong(output, event.getLikesCount() == null ? 0 : event.getLikesCount());
+        writeString(output, event.getTitle());
+        writeString(output, event.getContent());
+        return output.toByteArray();
+    }
+
+    public PostEventDto decode(byte[] payload) {
+        try {
+            ByteBuffer input = ByteBuffer.wrap(payload);
+            byte version = input.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported post event format version: " + version);
+            }
+
+            PostEventDto event = new PostEventDto();
+            event.setType(PostEventType.fromCode(input.get()));
+            event.setPostId(readVarLong(input));
+            event.setUserId(readVarLong(input));
+            if (event.getType() == PostEventType.DELETED) {
+                return event;
+            }
+
+            event.setIsPublished(input.get() == 1);
+            event.setLikesCount(Math.toIntExact(readVarLong(input)));
+            event.setTitle(readString(input));
+            event.setContent(readString(input));
+            return event;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated post event payload", e);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream output, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(output, bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer input) {
+        byte[] bytes = new byte[Math.toIntExact(readVarLong(input))];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer input) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte current = input.get();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length number in post event payload");
+    }
+
+}
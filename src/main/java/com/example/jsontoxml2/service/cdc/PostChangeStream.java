@@ -0,0 +1,91 @@
+package com.example.jsontoxml2.service.cdc;
+
+import com.example.jsontoxml2.mapper.PostMapper;
+import com.example.jsontoxml2.model.dto.post.PostEventDto;
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import com.example.jsontoxml2.model.dto.post.PostSnapshotResultDto;
+import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.repository.post.DeletedPostRepository;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import com.example.jsontoxml2.service.outbox.OutboxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PostChangeStream {
+
+    private final OutboxWriter outboxWriter;
+    private final PostChangeEventCodec postChangeEventCodec;
+    private final PostMapper postMapper;
+    private final PostRepository postRepository;
+    private final DeletedPostRepository deletedPostRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${kafka.topic.posts}")
+    private String topic;
+
+    @Value("${posts.cdc.snapshot-batch-size:1000}")
+    private int snapshotBatchSize;
+
+    @Value("${posts.cdc.snapshot-max-ids:100000}")
+    private long snapshotMaxIds;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(PostEventDto event) {
+        outboxWriter.append(topic, String.valueOf(event.getUserId()), postChangeEventCodec.encode(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<Post> posts, PostEventType type) {
+        appendEvents(posts.stream().map(post -> postMapper.toEventDto(post, type)).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendEvents(List<PostEventDto> events) {
+        outboxWriter.appendAll(events.stream()
+                .map(event -> outboxWriter.newEvent(topic, String.valueOf(event.getUserId()),
+                        postChangeEventCodec.encode(event)))
+                .toList());
+    }
+
+    public PostSnapshotResultDto snapshot(long afterId) {
+        Long maxPostId = postRepository.findMaxId();
+        long lastId = Math.min(maxPostId == null ? afterId : maxPostId, afterId + snapshotMaxIds);
+        long scannedUpTo = afterId;
+        long snapshottedPosts = 0;
+        long deletedPosts = 0;
+        while (scannedUpTo < lastId) {
+            long from = scannedUpTo;
+            long to = Math.min(from + snapshotBatchSize, lastId);
+            long[] counts = transactionTemplate.execute(status -> {
+                List<Post> locked = postRepository.lockForSnapshot(from, to);
+                List<PostEventDto> tombstones = tombstones(from, to);
+                appendAll(locked, PostEventType.SNAPSHOT);
+                appendEvents(tombstones);
+                return new long[]{locked.size(), tombstones.size()};
+            });
+
+            snapshottedPosts += counts[0];
+            deletedPosts += counts[1];
+            scannedUpTo = to;
+        }
+
+        return new PostSnapshotResultDto(afterId, scannedUpTo, snapshottedPosts, deletedPosts,
+                maxPostId != null && scannedUpTo < maxPostId);
+    }
+
+    private List<PostEventDto> tombstones(long from, long to) {
+        return deletedPostRepository.findByPostIdBetweenOrderByPostId(from + 1, to).stream()
+                .map(deletedPost -> new PostEventDto(PostEventType.DELETED, deletedPost.getPostId(),
+                        deletedPost.getUserId(), null, null, null, null))
+                .toList();
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.example.jsontoxml2.service.counter;
+
+import com.example.jsontoxml2.repository.post.PostCountBucket;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@RequiredArgsConstructor
+public class PostCounterStore {
+
+    public static final int[] LIKES_BUCKET_LOWER_BOUNDS = {0, 1, 10, 100, 1_000, 10_000, 100_000};
+    private static final int BUCKETS = LIKES_BUCKET_LOWER_BOUNDS.length;
+    private static final int LAST_BUCKET = BUCKETS - 1;
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final Map<Long, AtomicLongArray> countersByUser = new ConcurrentHashMap<>();
+
+    @Value("${posts.counters.max-users:100000}")
+    private int maxUsers;
+
+    public long count(Long userId, Boolean isPublished, Integer minLikes) {
+        AtomicLongArray counters = countersByUser.get(userId);
+        if (counters == null) {
+            counters = load(userId);
+        }
+
+        double total = 0;
+        for (int published = 0; published <= 1; published++) {
+            if (isPublished != null && isPublished != (published == 1)) {
+                continue;
+            }
+            long maxLikes = counters.get(maxLikesSlot(published == 1));
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                total += counters.get(slot(published == 1, bucket)) * bucketShare(bucket, minLikes, maxLikes);
+            }
+        }
+        return Math.round(total);
+    }
+
+    public void recordCreated(Long userId, Boolean isPublished, Integer likesCount) {
+        add(userId, isPublished, likesCount, 1);
+    }
+
+    public void recordDeleted(Long userId, Boolean isPublished, Integer likesCount) {
+        add(userId, isPublished, likesCount, -1);
+    }
+
+    public void recordUpdated(Long oldUserId, Boolean oldIsPublished, Integer oldLikesCount,
+                              Long newUserId, Boolean newIsPublished, Integer newLikesCount) {
+        add(oldUserId, oldIsPublished, oldLikesCount, -1);
+        add(newUserId, newIsPublished, newLikesCount, 1);
+    }
+
+    public boolean recordLikesChanged(Long userId, Boolean isPublished, Integer oldLikesCount,
+                                      Integer newLikesCount) {
+        if (bucketOf(oldLikesCount) == bucketOf(newLikesCount)) {
+            raiseMaxLikes(userId, isPublished, newLikesCount);
+            return false;
+        }
+        recordUpdated(userId, isPublished, oldLikesCount, userId, isPublished, newLikesCount);
+        return true;
+    }
+
+    public void evictUser(Long userId) {
+        countersByUser.remove(userId);
+    }
+
+    public void evictAll() {
+        countersByUser.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${posts.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(countersByUser.keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, userIds.size()));
+            Map<Long, AtomicLongArray> fresh = loadCounters(chunk);
+            for (Long userId : chunk) {
+                countersByUser.replace(userId, fresh.getOrDefault(userId, emptyCounters()));
+            }
+        }
+    }
+
+    private AtomicLongArray load(Long userId) {
+        AtomicLongArray loaded = loadCounters(List.of(userId)).getOrDefault(userId, emptyCounters());
+        if (countersByUser.size() >= maxUsers) {
+            return loaded;
+        }
+
+        AtomicLongArray existing = countersByUser.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private Map<Long, AtomicLongArray> loadCounters(Collection<Long> userIds) {
+        Map<Long, AtomicLongArray> counters = new HashMap<>();
+        for (PostCountBucket bucket : postRepository.countByLikesBuckets(userIds, LIKES_BUCKET_LOWER_BOUNDS)) {
+            AtomicLongArray userCounters = counters.computeIfAbsent(bucket.getUserId(), id -> emptyCounters());
+            userCounters.addAndGet(slot(bucket.isPublished(), bucket.getLikesBucket()), bucket.getCount());
+            if (bucket.getLikesBucket() == LAST_BUCKET) {
+                userCounters.accumulateAndGet(maxLikesSlot(bucket.isPublished()), bucket.getMaxLikes(), Math::max);
+            }
+        }
+        return counters;
+    }
+
+    private void add(Long userId, Boolean isPublished, Integer likesCount, long delta) {
+        AtomicLongArray counters = countersByUser.get(userId);
+        if (counters != null) {
+            counters.addAndGet(slot(Boolean.TRUE.equals(isPublished), bucketOf(likesCount)), delta);
+        }
+        if (delta > 0) {
+            raiseMaxLikes(userId, isPublished, likesCount);
+        }
+    }
+
+    private void raiseMaxLikes(Long userId, Boolean isPublished, Integer likesCount) {
+        AtomicLongArray counters = countersByUser.get(userId);
+        if (counters != null && bucketOf(likesCount) == LAST_BUCKET) {
+            counters.accumulateAndGet(maxLikesSlot(Boolean.TRUE.equals(isPublished)), likesCount, Math::max);
+        }
+    }
+
+    private static AtomicLongArray emptyCounters() {
+        return new AtomicLongArray(BUCKETS * 2 + 2);
+    }
+
+    private static double bucketShare(int bucket, Integer minLikes, long maxLikes) {
+        long lowerBound = LIKES_BUCKET_LOWER_BOUNDS[bucket];
+        if (minLikes == null || lowerBound >= minLikes) {
+            return 1;
+        }
+
+        long upperBound = bucket == LAST_BUCKET ? maxLikes + 1 : LIKES_BUCKET_LOWER_BOUNDS[bucket + 1];
+        if (upperBound <= minLikes) {
+            return 0;
+        }
+        return (double) (upperBound - minLikes) / (upperBound - lowerBound);
+    }
+
+    private static int bucketOf(Integer likesCount) {
+        int likes = likesCount == null ? 0 : likesCount;
+        int bucket = 0;
+        while (bucket + 1 < BUCKETS && likes >= LIKES_BUCKET_LOWER_BOUNDS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static int slot(boolean isPublished, int bucket) {
+        return (isPublished ? BUCKETS : 0) + bucket;
+    }
+
+    private static int maxLikesSlot(boolean isPublished) {
+        return BUCKETS * 2 + (isPublished ? 1 : 0);
+    }
+
+}
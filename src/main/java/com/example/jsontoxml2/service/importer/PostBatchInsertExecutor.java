@@ -0,0 +1,56 @@
+package com.example.jsontoxml2.service.importer;
+
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import com.example.jsontoxml2.service.cache.CacheInvalidationBus;
+import com.example.jsontoxml2.service.cache.CacheInvalidationKind;
+import com.example.jsontoxml2.service.cdc.PostChangeStream;
+import com.example.jsontoxml2.service.counter.PostCounterStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PostBatchInsertExecutor {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PostCounterStore postCounterStore;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PostChangeStream postChangeStream;
+
+    public void insert(List<PostImportRow> rows, PostImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Post> posts = rows.stream().map(PostImportRow::getPost).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                postRepository.batchInsert(posts);
+                postChangeStream.appendAll(posts, PostEventType.CREATED);
+            });
+            report.addSuccessful(rows.size());
+            posts.forEach(post -> postCounterStore.recordCreated(post.getUser().getId(), post.getIsPublished(),
+                    post.getLikesCount()));
+            posts.stream().map(post -> post.getUser().getId()).distinct()
+                    .forEach(userId -> cacheInvalidationBus.publish(CacheInvalidationKind.USER_POST_COUNTS, userId));
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                PostImportRow row = rows.get(0);
+                report.addFailure(row.getIndex(), row.getLine(), e.getMostSpecificCause().getMessage());
+                return;
+            }
+
+            int middle = rows.size() / 2;
+            insert(rows.subList(0, middle), report);
+            insert(rows.subList(middle, rows.size()), report);
+        }
+    }
+
+}
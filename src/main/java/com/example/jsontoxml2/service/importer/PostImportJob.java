@@ -0,0 +1,77 @@
+package com.example.jsontoxml2.service.importer;
+
+import com.example.jsontoxml2.model.dto.post.PostImportJobStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PostImportJob {
+
+    @Getter
+    private final String id;
+    @Getter
+    private final Path spoolFile;
+    @Getter
+    private final PostImportReport report;
+    private final AtomicReference<PostImportJobStatus> status = new AtomicReference<>(PostImportJobStatus.QUEUED);
+    @Getter
+    private volatile Instant startedAt;
+    @Getter
+    private volatile Instant finishedAt;
+    @Getter
+    private volatile String errorMessage;
+
+    public PostImportJob(String id, Path spoolFile, PostImportReport report) {
+        this.id = id;
+        this.spoolFile = spoolFile;
+        this.report = report;
+    }
+
+    public PostImportJobStatus getStatus() {
+        PostImportJobStatus currentStatus = status.get();
+        if (currentStatus == PostImportJobStatus.RUNNING && report.isCancelled()) {
+            return PostImportJobStatus.CANCELLING;
+        }
+        return currentStatus;
+    }
+
+    public boolean start() {
+        if (status.compareAndSet(PostImportJobStatus.QUEUED, PostImportJobStatus.RUNNING)) {
+            startedAt = Instant.now();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean cancelIfQueued() {
+        if (status.compareAndSet(PostImportJobStatus.QUEUED, PostImportJobStatus.CANCELLED)) {
+            finishedAt = Instant.now();
+            return true;
+        }
+        return false;
+    }
+
+    public void finish(PostImportJobStatus finalStatus, String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedAt = Instant.now();
+        status.set(finalStatus);
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public double getRowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsedMillis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+        return report.getProcessedRows() * 1000.0 / elapsedMillis;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.example.jsontoxml2.service.importer;
+
+import com.example.jsontoxml2.model.dto.post.PostImportErrorDto;
+import com.example.jsontoxml2.model.dto.post.PostImportResultDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PostImportReport {
+
+    private final int maxReportedErrors;
+    private final List<PostImportErrorDto> errors = new ArrayList<>();
+    private final AtomicLong successfulImports = new AtomicLong();
+    private final AtomicLong failedImports = new AtomicLong();
+    private volatile boolean cancelled;
+
+    public PostImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void addSuccessful(int count) {
+        successfulImports.addAndGet(count);
+    }
+
+    public void addFailure(long index, int line, String reason) {
+        failedImports.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new PostImportErrorDto(index, line, reason));
+            }
+        }
+    }
+
+    public long getSuccessfulImports() {
+        return successfulImports.get();
+    }
+
+    public long getFailedImports() {
+        return failedImports.get();
+    }
+
+    public long getProcessedRows() {
+        return successfulImports.get() + failedImports.get();
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public List<PostImportErrorDto> getErrors() {
+        synchronized (errors) {
+            return errors.stream()
+                    .sorted(Comparator.comparingLong(PostImportErrorDto::getIndex))
+                    .toList();
+        }
+    }
+
+    public PostImportResultDto toResultDto() {
+        return new PostImportResultDto(getSuccessfulImports(), getFailedImports(), getErrors());
+    }
+
+}
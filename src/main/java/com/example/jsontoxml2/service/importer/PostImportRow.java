@@ -0,0 +1,15 @@
+package com.example.jsontoxml2.service.importer;
+
+import com.example.jsontoxml2.model.entity.Post;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostImportRow {
+
+    private final long index;
+    private final int line;
+    private final Post post;
+
+}
@@ -0,0 +1,192 @@
+package com.example.jsontoxml2.service.importer;
+
+import com.example.jsontoxml2.mapper.PostMapper;
+import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class PostImporter {
+
+    private final PostMapper postMapper;
+    private final Validator validator;
+    private final PostBatchInsertExecutor postBatchInsertExecutor;
+    @Qualifier("postImportValidationExecutor")
+    private final ThreadPoolTaskExecutor postImportValidationExecutor;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${posts.import.chunk-size:1000}")
+    private int importChunkSize;
+
+    @Value("${posts.import.batch-size:1000}")
+    private int importBatchSize;
+
+    @Value("${posts.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${posts.import.validation.queue-capacity:4}")
+    private int validatedChunksCapacity;
+
+    public PostImportReport newReport() {
+        return new PostImportReport(maxReportedErrors);
+    }
+
+    public void importPosts(InputStream inputStream, PostImportReport report) {
+        Deque<Future<List<PostImportRow>>> validatedChunks = new ArrayDeque<>(validatedChunksCapacity);
+
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("The provided file must contain a JSON array of posts");
+            }
+
+            JsonStreamContext rowsContext = parser.getParsingContext();
+            List<ParsedRow> chunk = new ArrayList<>(importChunkSize);
+            long index = 0;
+            JsonToken token;
+            while (!report.isCancelled() && (token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("The provided file has invalid JSON format");
+                }
+
+                long rowIndex = index++;
+                int line = parser.currentLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    report.addFailure(rowIndex, line, "Element is not a JSON object");
+                    continue;
+                }
+
+                PostCreateRequestDto dto;
+                try {
+                    dto = objectMapper.readValue(parser, PostCreateRequestDto.class);
+                } catch (MismatchedInputException e) {
+                    skipToNextRow(parser, rowsContext);
+                    report.addFailure(rowIndex, line, describeMismatch(e));
+                    continue;
+                }
+
+                chunk.add(new ParsedRow(rowIndex, line, dto));
+                if (chunk.size() == importChunkSize) {
+                    submitChunk(chunk, validatedChunks, report);
+                    chunk = new ArrayList<>(importChunkSize);
+                }
+            }
+            submitChunk(chunk, validatedChunks, report);
+
+            while (!validatedChunks.isEmpty()) {
+                insertChunk(awaitChunk(validatedChunks.poll()), report);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("The provided file has invalid JSON format", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to import data due to I/O error");
+        } finally {
+            validatedChunks.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void skipToNextRow(JsonParser parser, JsonStreamContext rowsContext) throws IOException {
+        while (parser.getParsingContext() != rowsContext) {
+            if (parser.nextToken() == null) {
+                throw new IllegalArgumentException("The provided file has invalid JSON format");
+            }
+        }
+    }
+
+    private String describeMismatch(MismatchedInputException e) {
+        String field = e.getPath().stream()
+                .map(JsonMappingException.Reference::getFieldName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("."));
+        return (field.isEmpty() ? "" : field + ": ") + e.getOriginalMessage();
+    }
+
+    private void submitChunk(List<ParsedRow> chunk, Deque<Future<List<PostImportRow>>> validatedChunks,
+                             PostImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        if (validatedChunks.size() >= validatedChunksCapacity) {
+            insertChunk(awaitChunk(validatedChunks.poll()), report);
+        }
+        validatedChunks.add(postImportValidationExecutor.submit(() -> validateAndMap(chunk, report)));
+    }
+
+    private List<PostImportRow> validateAndMap(List<ParsedRow> chunk, PostImportReport report) {
+        List<PostImportRow> rows = new ArrayList<>(chunk.size());
+        for (ParsedRow parsedRow : chunk) {
+            Set<ConstraintViolation<PostCreateRequestDto>> violations = validator.validate(parsedRow.dto);
+            if (violations.isEmpty()) {
+                rows.add(new PostImportRow(parsedRow.index, parsedRow.line, postMapper.toPost(parsedRow.dto)));
+            } else {
+                report.addFailure(parsedRow.index, parsedRow.line, describeViolations(violations));
+            }
+        }
+        return rows;
+    }
+
+    private List<PostImportRow> awaitChunk(Future<List<PostImportRow>> validatedChunk) {
+        try {
+            return validatedChunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Post import was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to validate imported posts", e.getCause());
+        }
+    }
+
+    private void insertChunk(List<PostImportRow> chunk, PostImportReport report) {
+        for (int from = 0; from < chunk.size() && !report.isCancelled(); from += importBatchSize) {
+            int to = Math.min(from + importBatchSize, chunk.size());
+            postBatchInsertExecutor.insert(chunk.subList(from, to), report);
+        }
+    }
+
+    private String describeViolations(Set<ConstraintViolation<PostCreateRequestDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    @AllArgsConstructor
+    private static class ParsedRow {
+
+        private final long index;
+        private final int line;
+        private final PostCreateRequestDto dto;
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.jsontoxml2.service.ingestion;
+
+import com.example.jsontoxml2.mapper.PostMapper;
+import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostImportErrorDto;
+import com.example.jsontoxml2.service.importer.PostBatchInsertExecutor;
+import com.example.jsontoxml2.service.importer.PostImportReport;
+import com.example.jsontoxml2.service.importer.PostImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Component
+public class PostIngestionListener {
+
+    private final PostBatchInsertExecutor postBatchInsertExecutor;
+    private final PostMapper postMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final DeadLetterPublishingRecoverer postIngestionDeadLetterRecoverer;
+
+    private final Counter insertedCounter;
+    private final Counter rejectedCounter;
+
+    public PostIngestionListener(PostBatchInsertExecutor postBatchInsertExecutor, PostMapper postMapper,
+                                 Validator validator, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 DeadLetterPublishingRecoverer postIngestionDeadLetterRecoverer) {
+        this.postBatchInsertExecutor = postBatchInsertExecutor;
+        this.postMapper = postMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.postIngestionDeadLetterRecoverer = postIngestionDeadLetterRecoverer;
+
+        this.insertedCounter = meterRegistry.counter("posts.ingestion.records", "result", "inserted");
+        this.rejectedCounter = meterRegistry.counter("posts.ingestion.records", "result", "rejected");
+    }
+
+    @KafkaListener(id = "postIngestion",
+            topics = "${posts.ingestion.topic:post-ingestion}",
+            containerFactory = "postIngestionListenerContainerFactory",
+            autoStartup = "${posts.ingestion.enabled:false}")
+    public void onBatch(List<ConsumerRecord<String, String>> records) {
+        List<PostImportRow> rows = new ArrayList<>(records.size());
+        Map<Integer, String> rejections = new TreeMap<>();
+        for (int index = 0; index < records.size(); index++) {
+            ConsumerRecord<String, String> record = records.get(index);
+            if (record.value() == null) {
+                rejections.put(index, "Record has no value");
+                continue;
+            }
+
+            PostCreateRequestDto dto;
+            try {
+                dto = objectMapper.readValue(record.value(), PostCreateRequestDto.class);
+            } catch (JsonProcessingException e) {
+                rejections.put(index, "Record is not a valid post: " + e.getOriginalMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<PostCreateRequestDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                rejections.put(index, describeViolations(violations));
+                continue;
+            }
+            rows.add(new PostImportRow(index, 0, postMapper.toPost(dto)));
+        }
+
+        PostImportReport report = new PostImportReport(rows.size());
+        postBatchInsertExecutor.insert(rows, report);
+        insertedCounter.increment(report.getSuccessfulImports());
+        for (PostImportErrorDto error : report.getErrors()) {
+            rejections.put((int) error.getIndex(), error.getReason());
+        }
+
+        rejections.forEach((index, reason) -> {
+            postIngestionDeadLetterRecoverer.accept(records.get(index), new IllegalArgumentException(reason));
+            rejectedCounter.increment();
+        });
+    }
+
+    private String describeViolations(Set<ConstraintViolation<PostCreateRequestDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+}
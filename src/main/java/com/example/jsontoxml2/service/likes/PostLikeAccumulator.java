@@ -0,0 +1,188 @@
+package com.example.jsontoxml2.service.likes;
+
+import com.example.jsontoxml2.mapper.PostMapper;
+import com.example.jsontoxml2.model.dto.post.PostEventDto;
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import com.example.jsontoxml2.service.cache.CacheInvalidationBus;
+import com.example.jsontoxml2.service.cache.CacheInvalidationKind;
+import com.example.jsontoxml2.service.cache.PostInfoCache;
+import com.example.jsontoxml2.service.cdc.PostChangeStream;
+import com.example.jsontoxml2.service.counter.PostCounterStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class PostLikeAccumulator {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PostInfoCache postInfoCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PostCounterStore postCounterStore;
+    private final PostChangeStream postChangeStream;
+    private final PostMapper postMapper;
+    private final Map<Long, LikeCell> pendingByPost = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${posts.likes.spill-file:/var/lib/jsontoxml2/posts-likes-pending.log}")
+    private Path spillFile;
+
+    public void add(Long postId, long delta) {
+        LikeCell cell = pendingByPost.computeIfAbsent(postId, id -> new LikeCell());
+        cell.likes.add(delta);
+        if (cell.retired) {
+            long orphaned = cell.likes.sumThenReset();
+            if (orphaned != 0) {
+                add(postId, orphaned);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${posts.likes.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            List<Post> updatedPosts = write(deltas);
+            if (updatedPosts == null) {
+                deltas.forEach(this::add);
+                return;
+            }
+
+            Set<Long> movedUserIds = new HashSet<>();
+            for (Post post : updatedPosts) {
+                if (postCounterStore.recordLikesChanged(post.getUser().getId(), post.getIsPublished(),
+                        post.getLikesCount(), likesAfter(post, deltas.get(post.getId())))) {
+                    movedUserIds.add(post.getUser().getId());
+                }
+            }
+            for (Long postId : deltas.keySet()) {
+                postInfoCache.evict(postId);
+                cacheInvalidationBus.publish(CacheInvalidationKind.POST, postId);
+            }
+            movedUserIds.forEach(userId -> cacheInvalidationBus.publish(CacheInvalidationKind.USER_POST_COUNTS, userId));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PostConstruct
+    public void replaySpilledLikes() {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+
+        try {
+            for (String line : Files.readAllLines(spillFile, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" ");
+                if (parts.length == 2) {
+                    add(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                }
+            }
+            Files.delete(spillFile);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to replay pending likes from " + spillFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = drain();
+            if (deltas.isEmpty() || write(deltas) != null) {
+                return;
+            }
+
+            List<String> lines = deltas.entrySet().stream()
+                    .map(delta -> delta.getKey() + " " + delta.getValue())
+                    .toList();
+            try {
+                if (spillFile.getParent() != null) {
+                    Files.createDirectories(spillFile.getParent());
+                }
+                Files.write(spillFile, lines, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to spill pending likes to " + spillFile, e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LikeCell> entry : pendingByPost.entrySet()) {
+            LikeCell cell = entry.getValue();
+            long delta = cell.likes.sumThenReset();
+            if (delta == 0) {
+                cell.retired = true;
+                pendingByPost.remove(entry.getKey(), cell);
+                delta = cell.likes.sumThenReset();
+            }
+            if (delta != 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+        return deltas;
+    }
+
+    private List<Post> write(Map<Long, Long> deltas) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Post> posts = postRepository.lockForUpdate(deltas.keySet());
+                postRepository.addLikes(deltas);
+                postChangeStream.appendEvents(posts.stream()
+                        .map(post -> toLikesChangedEvent(post, deltas.get(post.getId())))
+                        .toList());
+                return posts;
+            });
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    private PostEventDto toLikesChangedEvent(Post post, long delta) {
+        PostEventDto event = postMapper.toEventDto(post, PostEventType.UPDATED);
+        event.setLikesCount(likesAfter(post, delta));
+        return event;
+    }
+
+    private static int likesAfter(Post post, long delta) {
+        return (int) Math.max(post.getLikesCount() + delta, 0);
+    }
+
+    private static class LikeCell {
+
+        private final LongAdder likes = new LongAdder();
+        private volatile boolean retired;
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.example.jsontoxml2.service.outbox;
+
+import com.example.jsontoxml2.model.entity.OutboxEvent;
+import com.example.jsontoxml2.repository.outbox.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    public static final String OUTBOX_ID_HEADER = "outbox-id";
+
+    @Qualifier("outboxKafkaTemplate")
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.shards:16}")
+    private int shards;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @PostConstruct
+    public void registerBacklogGauges() {
+        meterRegistry.gauge("outbox.events.pending", outboxEventRepository, OutboxEventRepository::countPending);
+        meterRegistry.gauge("outbox.events.parked", outboxEventRepository, OutboxEventRepository::countParked);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+
+        for (int shard = 0; shard < shards; shard++) {
+            try {
+                int relayed;
+                do {
+                    relayed = relayShard(shard);
+                } while (relayed == batchSize);
+            } catch (RuntimeException e) {
+                meterRegistry.counter("outbox.relay.failures").increment();
+                log.warn("Failed to relay outbox shard {}", shard, e);
+            }
+        }
+    }
+
+    private int relayShard(int shard) {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.lockShardHead(shard, batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            List<CompletableFuture<?>> results = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                CompletableFuture<?> result = send(event);
+                results.add(result);
+                if (result.isCompletedExceptionally()) {
+                    break;
+                }
+            }
+
+            awaitAcks(results);
+            int acked = 0;
+            while (acked < results.size() && results.get(acked).state() == Future.State.SUCCESS) {
+                acked++;
+            }
+
+            LocalDateTime ackedAt = LocalDateTime.now();
+            List<OutboxEvent> ackedEvents = events.subList(0, acked);
+            if (!ackedEvents.isEmpty()) {
+                outboxEventRepository.deleteByIds(ackedEvents.stream().map(OutboxEvent::getId).toList());
+            }
+            for (OutboxEvent event : ackedEvents) {
+                meterRegistry.counter("outbox.events.relayed", "topic", event.getTopic()).increment();
+                relayTimer(event.getTopic()).record(Duration.between(event.getCreatedAt(), ackedAt));
+            }
+
+            if (acked < results.size()) {
+                recordFailedAttempt(events.get(acked), results.get(acked));
+            }
+            return acked;
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(event.getTopic(), event.getEventKey(),
+                event.getPayload());
+        record.headers().add(OUTBOX_ID_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(event.getId()).array());
+        try {
+            return outboxKafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void recordFailedAttempt(OutboxEvent event, CompletableFuture<?> result) {
+        Throwable cause = result.state() == Future.State.FAILED
+                ? result.exceptionNow()
+                : new TimeoutException("No acknowledgement within " + sendTimeoutMs + " ms");
+        int attempts = event.getAttempts() + 1;
+        boolean parked = attempts >= maxAttempts;
+        outboxEventRepository.recordFailedAttempt(event.getId(), attempts, parked ? LocalDateTime.now() : null);
+
+        meterRegistry.counter("outbox.relay.failures").increment();
+        if (parked) {
+            meterRegistry.counter("outbox.events.parked.total", "topic", event.getTopic()).increment();
+            log.error("Parked outbox event {} for topic {} after {} failed attempts",
+                    event.getId(), event.getTopic(), attempts, cause);
+        } else {
+            log.warn("Failed to relay outbox event {} for topic {} (attempt {} of {})",
+                    event.getId(), event.getTopic(), attempts, maxAttempts, cause);
+        }
+    }
+
+    private Timer relayTimer(String topic) {
+        return Timer.builder("outbox.events.relay")
+                .tag("topic", topic)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void awaitAcks(List<CompletableFuture<?>> results) {
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .handle((ignored, failure) -> null)
+                .completeOnTimeout(null, sendTimeoutMs, TimeUnit.MILLISECONDS)
+                .join();
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.jsontoxml2.service.outbox;
+
+import com.example.jsontoxml2.model.entity.OutboxEvent;
+import com.example.jsontoxml2.repository.outbox.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Value("${outbox.shards:16}")
+    private int shards;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, byte[] payload) {
+        outboxEventRepository.save(newEvent(topic, key, payload));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<OutboxEvent> events) {
+        if (!events.isEmpty()) {
+            outboxEventRepository.batchInsert(events);
+        }
+    }
+
+    public OutboxEvent newEvent(String topic, String key, byte[] payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setTopic(topic);
+        event.setEventKey(key);
+        event.setShard(Math.floorMod(key.hashCode(), shards));
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.example.jsontoxml2.service.report;
+
+import com.example.jsontoxml2.model.entity.Post;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class ArrowPostReportWriter implements PostReportWriter {
+
+    public static final Schema SCHEMA = new Schema(List.of(
+            new Field("id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+            new Field("title", FieldType.nullable(ArrowType.Utf8.INSTANCE), null),
+            new Field("content", FieldType.nullable(ArrowType.Utf8.INSTANCE), null),
+            new Field("likes_count", FieldType.nullable(new ArrowType.Int(32, true)), null),
+            new Field("published", FieldType.nullable(ArrowType.Bool.INSTANCE), null),
+            new Field("user_id", FieldType.nullable(new ArrowType.Int(64, true)), null)
+    ));
+
+    private final int batchSize;
+    private final OutputStream outputStream;
+    private final BufferAllocator allocator;
+    private final VectorSchemaRoot root;
+    private final ArrowStreamWriter writer;
+    private final BigIntVector idVector;
+    private final VarCharVector titleVector;
+    private final VarCharVector contentVector;
+    private final IntVector likesCountVector;
+    private final BitVector publishedVector;
+    private final BigIntVector userIdVector;
+    private int rowCount;
+
+    public ArrowPostReportWriter(OutputStream outputStream, int batchSize) throws IOException {
+        this.batchSize = batchSize;
+        this.outputStream = outputStream;
+        this.allocator = new RootAllocator();
+        this.root = VectorSchemaRoot.create(SCHEMA, allocator);
+        this.idVector = (BigIntVector) root.getVector("id");
+        this.titleVector = (VarCharVector) root.getVector("title");
+        this.contentVector = (VarCharVector) root.getVector("content");
+        this.likesCountVector = (IntVector) root.getVector("likes_count");
+        this.publishedVector = (BitVector) root.getVector("published");
+        this.userIdVector = (BigIntVector) root.getVector("user_id");
+        root.allocateNew();
+        this.writer = new ArrowStreamWriter(root, null, outputStream);
+        writer.start();
+    }
+
+    @Override
+    public void write(Post post) throws IOException {
+        idVector.setSafe(rowCount, post.getId());
+        setString(titleVector, post.getTitle());
+        setString(contentVector, post.getContent());
+        if (post.getLikesCount() == null) {
+            likesCountVector.setNull(rowCount);
+        } else {
+            likesCountVector.setSafe(rowCount, post.getLikesCount());
+        }
+        if (post.getIsPublished() == null) {
+            publishedVector.setNull(rowCount);
+        } else {
+            publishedVector.setSafe(rowCount, post.getIsPublished() ? 1 : 0);
+        }
+        if (post.getUser() == null) {
+            userIdVector.setNull(rowCount);
+        } else {
+            userIdVector.setSafe(rowCount, post.getUser().getId());
+        }
+
+        if (++rowCount == batchSize) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rowCount > 0) {
+                writeBatch();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+            allocator.close();
+        }
+    }
+
+    private void setString(VarCharVector vector, String value) {
+        if (value == null) {
+            vector.setNull(rowCount);
+        } else {
+            vector.setSafe(rowCount, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(rowCount);
+        writer.writeBatch();
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+        rowCount = 0;
+    }
+
+}
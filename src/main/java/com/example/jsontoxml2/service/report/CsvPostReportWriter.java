@@ -0,0 +1,41 @@
+package com.example.jsontoxml2.service.report;
+
+import com.example.jsontoxml2.model.entity.Post;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class CsvPostReportWriter implements PostReportWriter {
+
+    private final Writer writer;
+    private final PostCsvEncoder encoder;
+
+    public CsvPostReportWriter(OutputStream outputStream, int bufferSize) throws IOException {
+        this.writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.encoder = new PostCsvEncoder(writer, bufferSize);
+        encoder.writeHeader();
+    }
+
+    @Override
+    public void write(Post post) throws IOException {
+        encoder.write(post);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encoder.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            encoder.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.example.jsontoxml2.service.report;
+
+import com.example.jsontoxml2.model.entity.Post;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class PostCsvEncoder {
+
+    public static final String HEADER = "Post ID;Title;Content;Likes Count;Published;User ID\n";
+    private static final char SEPARATOR = ';';
+    private static final char QUOTE = '"';
+    private static final char LINE_END = '\n';
+    private static final int MAX_LONG_DIGITS = 20;
+
+    private final Writer writer;
+    private final char[] buffer;
+    private int position;
+
+    public PostCsvEncoder(Writer writer, int bufferSize) {
+        this.writer = writer;
+        this.buffer = new char[Math.max(bufferSize, MAX_LONG_DIGITS)];
+    }
+
+    public void writeHeader() throws IOException {
+        writeRaw(HEADER);
+    }
+
+    public void write(Post post) throws IOException {
+        writeLong(post.getId());
+        writeChar(SEPARATOR);
+        writeEscaped(post.getTitle());
+        writeChar(SEPARATOR);
+        writeEscaped(post.getContent());
+        writeChar(SEPARATOR);
+        writeLong(post.getLikesCount());
+        writeChar(SEPARATOR);
+        writeRaw(post.getIsPublished() == null ? null : post.getIsPublished() ? "true" : "false");
+        writeChar(SEPARATOR);
+        writeLong(post.getUser() == null ? null : post.getUser().getId());
+        writeChar(LINE_END);
+    }
+
+    public void flush() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+        writer.flush();
+    }
+
+    private void writeChar(char value) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = value;
+    }
+
+    private void writeRaw(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        int offset = 0;
+        int length = value.length();
+        while (offset < length) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int count = Math.min(length - offset, buffer.length - position);
+            value.getChars(offset, offset + count, buffer, position);
+            position += count;
+            offset += count;
+        }
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writeRaw(value);
+            return;
+        }
+
+        writeChar(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char current = value.charAt(i);
+            if (current == QUOTE) {
+                writeChar(QUOTE);
+            }
+            writeChar(current);
+        }
+        writeChar(QUOTE);
+    }
+
+    private void writeLong(Number number) throws IOException {
+        if (number == null) {
+            return;
+        }
+
+        long value = number.longValue();
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value));
+            return;
+        }
+        if (buffer.length - position < MAX_LONG_DIGITS) {
+            drain();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        int end = position + digitCount(value);
+        int cursor = end;
+        do {
+            buffer[--cursor] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char current = value.charAt(i);
+            if (current == SEPARATOR || current == QUOTE || current == '\n' || current == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() throws IOException {
+        writer.write(buffer, 0, position);
+        position = 0;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.jsontoxml2.service.report;
+
+import com.example.jsontoxml2.model.entity.Post;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface PostReportWriter extends Closeable {
+
+    void write(Post post) throws IOException;
+
+    void flush() throws IOException;
+
+}
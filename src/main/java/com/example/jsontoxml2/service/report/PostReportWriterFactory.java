@@ -0,0 +1,24 @@
+package com.example.jsontoxml2.service.report;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Component
+public class PostReportWriterFactory {
+
+    private static final int CSV_BUFFER_SIZE = 32 * 1024;
+
+    @Value("${posts.report.arrow-batch-size:4096}")
+    private int arrowBatchSize;
+
+    public PostReportWriter open(ReportFormat format, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvPostReportWriter(outputStream, CSV_BUFFER_SIZE);
+            case ARROW -> new ArrowPostReportWriter(outputStream, arrowBatchSize);
+        };
+    }
+
+}
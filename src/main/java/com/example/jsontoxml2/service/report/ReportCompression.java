@@ -0,0 +1,99 @@
+package com.example.jsontoxml2.service.report;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@Getter
+@RequiredArgsConstructor
+public enum ReportCompression {
+
+    IDENTITY("identity"),
+    GZIP("gzip"),
+    ZSTD("zstd");
+
+    private static final int GZIP_BUFFER_SIZE = 16 * 1024;
+    private static final boolean ZSTD_PRESENT =
+            ClassUtils.isPresent("com.github.luben.zstd.ZstdOutputStream", ReportCompression.class.getClassLoader());
+
+    private final String encoding;
+
+    public boolean isAvailable() {
+        return this != ZSTD || ZSTD_PRESENT;
+    }
+
+    public OutputStream wrap(OutputStream outputStream) throws IOException {
+        return switch (this) {
+            case IDENTITY -> outputStream;
+            case GZIP -> new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true);
+            case ZSTD -> ZstdStreams.wrap(outputStream);
+        };
+    }
+
+    public static ReportCompression negotiate(String acceptEncoding, String requestedCompression) {
+        if (requestedCompression != null && !requestedCompression.isBlank()) {
+            ReportCompression compression = fromEncoding(requestedCompression.trim());
+            if (compression == null || !compression.isAvailable()) {
+                throw new IllegalArgumentException("Unsupported report compression: " + requestedCompression);
+            }
+            return compression;
+        }
+
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+
+        boolean gzipAccepted = false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            ReportCompression compression = fromEncoding(parts[0].trim());
+            if (compression == null || !compression.isAvailable() || isRejected(parts)) {
+                continue;
+            }
+            if (compression == ZSTD) {
+                return ZSTD;
+            }
+            gzipAccepted |= compression == GZIP;
+        }
+        return gzipAccepted ? GZIP : IDENTITY;
+    }
+
+    private static ReportCompression fromEncoding(String encoding) {
+        String normalized = encoding.toLowerCase(Locale.ROOT);
+        for (ReportCompression compression : values()) {
+            if (compression.encoding.equals(normalized)) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRejected(String[] encodingParts) {
+        for (int i = 1; i < encodingParts.length; i++) {
+            String parameter = encodingParts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class ZstdStreams {
+
+        private static OutputStream wrap(OutputStream outputStream) throws IOException {
+            return new ZstdOutputStream(outputStream);
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.jsontoxml2.service.report;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum ReportFormat {
+
+    CSV("text/csv", "csv"),
+    ARROW("application/vnd.apache.arrow.stream", "arrows");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    public static ReportFormat fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return CSV;
+        }
+
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported report format: " + name);
+        }
+    }
+
+}
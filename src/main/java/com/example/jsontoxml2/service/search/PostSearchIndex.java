@@ -0,0 +1,320 @@
+package com.example.jsontoxml2.service.search;
+
+import com.example.jsontoxml2.model.entity.DeletedPost;
+import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.repository.post.DeletedPostRepository;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import com.example.jsontoxml2.repository.post.PostSpecifications;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final String ID = "id";
+    private static final String USER_ID = "userId";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String LAST_INDEXED_ID = "lastIndexedId";
+    private static final String RECONCILED_AT = "reconciledAt";
+    private static final LocalDateTime RECONCILE_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 2f, CONTENT, 1f);
+
+    private final PostRepository postRepository;
+    private final DeletedPostRepository deletedPostRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ReentrantLock catchUpLock = new ReentrantLock();
+
+    @Value("${posts.search.index-dir:/var/lib/jsontoxml2/posts-search-index}")
+    private String indexDir;
+
+    @Value("${posts.search.catch-up-batch-size:1000}")
+    private int catchUpBatchSize;
+
+    @Value("${posts.search.catch-up-overlap:100}")
+    private long catchUpOverlap;
+
+    @Value("${posts.search.catch-up-commit-batches:10}")
+    private int catchUpCommitBatches;
+
+    @Value("${posts.search.reconcile-overlap-ms:60000}")
+    private long reconcileOverlapMs;
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private volatile long lastIndexedId;
+    private volatile LocalDateTime reconciledAt;
+    private volatile boolean caughtUp;
+
+    @PostConstruct
+    public void open() {
+        try {
+            directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+            indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(indexWriter, null);
+            String storedLastIndexedId = readCommitData(LAST_INDEXED_ID);
+            String storedReconciledAt = readCommitData(RECONCILED_AT);
+            lastIndexedId = storedLastIndexedId == null ? 0 : Long.parseLong(storedLastIndexedId);
+            reconciledAt = storedReconciledAt == null ? null : LocalDateTime.parse(storedReconciledAt);
+
+            Long maxPostId = postRepository.findMaxId();
+            if (lastIndexedId > (maxPostId == null ? 0 : maxPostId)) {
+                indexWriter.deleteAll();
+                lastIndexedId = 0;
+                reconciledAt = null;
+            }
+            if (lastIndexedId == 0 && reconciledAt == null) {
+                reconciledAt = postRepository.findCurrentTimestamp();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open the post search index", e);
+        }
+    }
+
+    public void index(Long id, Long userId, String title, String content) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new StringField(USER_ID, userId.toString(), Field.Store.NO));
+        document.add(new TextField(TITLE, title == null ? "" : title, Field.Store.NO));
+        document.add(new TextField(CONTENT, content == null ? "" : content, Field.Store.NO));
+        try {
+            indexWriter.updateDocument(new Term(ID, id.toString()), document);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to index post " + id, e);
+        }
+    }
+
+    public void delete(Long id) {
+        try {
+            indexWriter.deleteDocuments(new Term(ID, id.toString()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to remove post " + id + " from the search index", e);
+        }
+    }
+
+    public void reindex(Long id) {
+        postRepository.findById(id).ifPresentOrElse(this::index, () -> delete(id));
+    }
+
+    public PostSearchResult search(String text, Long userId, int maxHits) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parser.parse(text), BooleanClause.Occur.MUST);
+        if (userId != null) {
+            query.add(new TermQuery(new Term(USER_ID, userId.toString())), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query.build(), maxHits);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> rankedIds = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    rankedIds.add(Long.parseLong(storedFields.document(scoreDoc.doc, Set.of(ID)).get(ID)));
+                }
+                return new PostSearchResult(rankedIds, topDocs.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to search posts", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${posts.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to refresh the post search index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${posts.search.catch-up-interval-ms:5000}")
+    public void catchUp() {
+        catchUpLock.lock();
+        try {
+            long previousLastIndexedId = lastIndexedId;
+            LocalDateTime previousReconciledAt = reconciledAt;
+            indexNewPosts();
+            reconcileChangedPosts();
+            if (lastIndexedId != previousLastIndexedId || !Objects.equals(reconciledAt, previousReconciledAt)
+                    || indexWriter.hasUncommittedChanges()) {
+                commit();
+            }
+            caughtUp = true;
+        } finally {
+            catchUpLock.unlock();
+        }
+    }
+
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    public long getLastIndexedId() {
+        return lastIndexedId;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    private void index(Post post) {
+        index(post.getId(), post.getUser().getId(), post.getTitle(), post.getContent());
+    }
+
+    private void indexNewPosts() {
+        long previousLastIndexedId = lastIndexedId;
+        long afterId = Math.max(0, previousLastIndexedId - catchUpOverlap);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<Post> batch;
+                int batches = 0;
+                do {
+                    batch = postRepository.findSlice(PostSpecifications.withIdGreaterThan(afterId), Sort.by("id"), 0,
+                            catchUpBatchSize);
+                    for (Post post : batch) {
+                        if (post.getId() > previousLastIndexedId || !isIndexed(searcher, post.getId())) {
+                            index(post);
+                        }
+                        afterId = post.getId();
+                    }
+                    if (++batches % catchUpCommitBatches == 0 && afterId > lastIndexedId) {
+                        lastIndexedId = afterId;
+                        commit();
+                    }
+                } while (batch.size() == catchUpBatchSize);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to catch up the post search index", e);
+        }
+        lastIndexedId = Math.max(lastIndexedId, afterId);
+    }
+
+    private void reconcileChangedPosts() {
+        LocalDateTime startedAt = postRepository.findCurrentTimestamp();
+        LocalDateTime since = reconciledAt == null
+                ? RECONCILE_FROM
+                : reconciledAt.minus(reconcileOverlapMs, ChronoUnit.MILLIS);
+        int batches = 0;
+
+        LocalDateTime updatedAt = since;
+        long afterId = 0;
+        List<Post> updatedPosts;
+        do {
+            updatedPosts = postRepository.findUpdatedAfter(updatedAt, afterId, catchUpBatchSize);
+            for (Post post : updatedPosts) {
+                index(post);
+                updatedAt = post.getUpdatedAt();
+                afterId = post.getId();
+            }
+            commitEvery(++batches);
+        } while (updatedPosts.size() == catchUpBatchSize);
+
+        LocalDateTime deletedAt = since;
+        long afterPostId = 0;
+        List<DeletedPost> deletedPosts;
+        do {
+            deletedPosts = deletedPostRepository.findDeletedAfter(deletedAt, afterPostId,
+                    Limit.of(catchUpBatchSize));
+            for (DeletedPost deletedPost : deletedPosts) {
+                delete(deletedPost.getPostId());
+                deletedAt = deletedPost.getDeletedAt();
+                afterPostId = deletedPost.getPostId();
+            }
+            commitEvery(++batches);
+        } while (deletedPosts.size() == catchUpBatchSize);
+
+        reconciledAt = startedAt;
+    }
+
+    private void commitEvery(int batches) {
+        if (batches % catchUpCommitBatches == 0) {
+            commit();
+        }
+    }
+
+    private boolean isIndexed(IndexSearcher searcher, Long id) throws IOException {
+        return searcher.count(new TermQuery(new Term(ID, id.toString()))) > 0;
+    }
+
+    private void commit() {
+        Map<String, String> commitData = new HashMap<>();
+        commitData.put(LAST_INDEXED_ID, Long.toString(lastIndexedId));
+        if (reconciledAt != null) {
+            commitData.put(RECONCILED_AT, reconciledAt.toString());
+        }
+        try {
+            indexWriter.setLiveCommitData(commitData.entrySet());
+            indexWriter.commit();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to commit the post search index", e);
+        }
+    }
+
+    private String readCommitData(String key) {
+        Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (key.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+}
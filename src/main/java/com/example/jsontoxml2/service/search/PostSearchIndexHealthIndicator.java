@@ -0,0 +1,20 @@
+package com.example.jsontoxml2.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndexHealthIndicator implements HealthIndicator {
+
+    private final PostSearchIndex postSearchIndex;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = postSearchIndex.isCaughtUp() ? Health.up() : Health.outOfService();
+        return builder.withDetail("lastIndexedId", postSearchIndex.getLastIndexedId()).build();
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.jsontoxml2.service.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PostSearchResult {
+
+    private final List<Long> rankedIds;
+    private final long totalHits;
+
+    public boolean isTruncated() {
+        return totalHits > rankedIds.size();
+    }
+
+}
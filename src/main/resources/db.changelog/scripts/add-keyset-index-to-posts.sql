@@ -0,0 +1,3 @@
+-- Changeset for adding the keyset pagination index to the posts table
+-- liquibase: changeSet id=add-keyset-index-to-posts
+CREATE INDEX multiIndexUserAndId ON posts (user_id, id);
@@ -0,0 +1,4 @@
+-- Changeset for tracking failed relay attempts and parking poison events in the outbox
+-- liquibase: changeSet id=add-relay-attempts-to-outbox-events
+ALTER TABLE outbox_events ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE outbox_events ADD COLUMN parked_at TIMESTAMP;
@@ -0,0 +1,4 @@
+-- Changeset for tracking when each post was last updated
+-- liquibase: changeSet id=add-updated-at-to-posts
+ALTER TABLE posts ADD COLUMN updated_at TIMESTAMP;
+CREATE INDEX indexUpdatedAtAndId ON posts (updated_at, id);
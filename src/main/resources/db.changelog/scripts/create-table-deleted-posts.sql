@@ -0,0 +1,8 @@
+-- Changeset for creating the table that records the ids and owners of deleted posts
+-- liquibase: changeSet id=create-table-deleted-posts
+CREATE TABLE deleted_posts (
+    post_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+CREATE INDEX indexDeletedAtAndPostId ON deleted_posts (deleted_at, post_id);
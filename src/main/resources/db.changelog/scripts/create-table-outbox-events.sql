@@ -0,0 +1,11 @@
+-- Changeset for creating the transactional outbox table drained by the outbox relay
+-- liquibase: changeSet id=create-table-outbox-events
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    event_key VARCHAR(255) NOT NULL,
+    shard INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+CREATE INDEX indexOutboxShardAndId ON outbox_events (shard, id);
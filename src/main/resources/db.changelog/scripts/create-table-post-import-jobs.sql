@@ -0,0 +1,17 @@
+-- Changeset for creating the table that shares asynchronous post import job status across nodes
+-- liquibase: changeSet id=create-table-post-import-jobs
+CREATE TABLE post_import_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    processed_rows BIGINT NOT NULL,
+    successful_imports BIGINT NOT NULL,
+    failed_imports BIGINT NOT NULL,
+    error_message VARCHAR(4096),
+    errors TEXT,
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE,
+    finished_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX indexImportJobsFinishedAt ON post_import_jobs (finished_at);
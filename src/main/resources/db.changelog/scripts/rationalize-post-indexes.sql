@@ -0,0 +1,4 @@
+-- Changeset for replacing the user and published index with a global published likes index on the posts table
+-- liquibase: changeSet id=rationalize-post-indexes
+DROP INDEX IF EXISTS multiIndexUserAndPublished;
+CREATE INDEX indexPublishedByLikes ON posts (likes_count DESC, id DESC) WHERE published = TRUE;
@@ -0,0 +1,76 @@
+package com.example.jsontoxml2.benchmark;
+
+import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.model.entity.User;
+import com.example.jsontoxml2.service.report.PostCsvEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class PostCsvEncoderBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private final List<Post> posts = new ArrayList<>(ROWS);
+    private final Writer writer = Writer.nullWriter();
+    private PostCsvEncoder encoder;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(42L);
+        for (long id = 1; id <= ROWS; id++) {
+            posts.add(new Post(id, "Post title " + id, "Some post content that is a bit longer than the title " + id,
+                    true, (int) (id * 7), user, null));
+        }
+        encoder = new PostCsvEncoder(writer, 32 * 1024);
+    }
+
+    @Benchmark
+    public void stringFormat() throws IOException {
+        for (Post post : posts) {
+            String row = String.format("%d;%s;%s;%d;%b;%d", post.getId(), post.getTitle(), post.getContent(),
+                    post.getLikesCount(), post.getIsPublished(), post.getUser().getId());
+            writer.write(String.format("%s%n", row));
+        }
+    }
+
+    @Benchmark
+    public void csvEncoder() throws IOException {
+        for (Post post : posts) {
+            encoder.write(post);
+        }
+        encoder.flush();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostCsvEncoderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.example.jsontoxml2.benchmark;
+
+import com.example.jsontoxml2.config.ApplicationConfig;
+import com.example.jsontoxml2.mapper.PostMapper;
+import com.example.jsontoxml2.mapper.UserMapper;
+import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostInfoDto;
+import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.model.entity.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class PostMapperBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private final List<Post> posts = new ArrayList<>(ROWS);
+    private final List<PostCreateRequestDto> createRequests = new ArrayList<>(ROWS);
+    private ModelMapper modelMapper;
+    private PostMapper postMapper;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("Anna Lore");
+        user.setEmail("anna.lore@example.com");
+        for (long id = 1; id <= ROWS; id++) {
+            posts.add(new Post(id, "Post title " + id, "Some post content " + id, true, (int) (id * 7), user, null));
+            createRequests.add(new PostCreateRequestDto("Post title " + id, "Some post content " + id, true, 42L));
+        }
+        modelMapper = new ApplicationConfig().modelMapper();
+        postMapper = new PostMapper(new UserMapper());
+    }
+
+    @Benchmark
+    public void modelMapperToInfoDto(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(modelMapper.map(post, PostInfoDto.class));
+        }
+    }
+
+    @Benchmark
+    public void postMapperToInfoDto(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(postMapper.toInfoDto(post));
+        }
+    }
+
+    @Benchmark
+    public void modelMapperToPost(Blackhole blackhole) {
+        for (PostCreateRequestDto createRequest : createRequests) {
+            blackhole.consume(modelMapper.map(createRequest, Post.class));
+        }
+    }
+
+    @Benchmark
+    public void postMapperToPost(Blackhole blackhole) {
+        for (PostCreateRequestDto createRequest : createRequests) {
+            blackhole.consume(postMapper.toPost(createRequest));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostMapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.example.jsontoxml2.config;
+
+import com.example.jsontoxml2.Main;
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(
+        properties = {
+                "spring.liquibase.enabled=false",
+                "posts.search.index-dir=",
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "posts.cache.invalidation.enabled=false",
+                "outbox.enabled=false",
+                "posts.ingestion.enabled=false"
+        },
+        classes = Main.class)
+@AutoConfigureTestDatabase
+@EmbeddedKafka(partitions = 1)
+class KafkaConfigTest {
+
+    @Autowired
+    private ProducerFactory<String, String> producerFactory;
+
+    @Autowired
+    private ProducerFactory<String, byte[]> outboxProducerFactory;
+
+    @Test
+    void testProducerFactories_ThanProducersAreCreatedWithConfiguredTuning() {
+        try (Producer<String, String> producer = producerFactory.createProducer();
+             Producer<String, byte[]> outboxProducer = outboxProducerFactory.createProducer()) {
+            assertNotNull(producer);
+            assertNotNull(outboxProducer);
+        }
+    }
+
+}
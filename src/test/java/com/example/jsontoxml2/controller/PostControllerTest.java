@@ -2,15 +2,34 @@ package com.example.jsontoxml2.controller;
 
 import com.example.jsontoxml2.Main;
 import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.example.jsontoxml2.model.dto.post.PostEventDto;
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import com.example.jsontoxml2.model.dto.post.PostImportJobStatus;
 import com.example.jsontoxml2.model.dto.post.PostInfoDto;
 import com.example.jsontoxml2.model.dto.post.PostUpdateRequestDto;
 import com.example.jsontoxml2.model.dto.user.UserSaveDto;
 import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.model.entity.PostImportJobState;
 import com.example.jsontoxml2.model.entity.User;
+import com.example.jsontoxml2.repository.importer.PostImportJobStateRepository;
+import com.example.jsontoxml2.repository.outbox.OutboxEventRepository;
 import com.example.jsontoxml2.repository.post.PostRepository;
 import com.example.jsontoxml2.repository.user.UserRepository;
+import com.example.jsontoxml2.service.cdc.PostChangeEventCodec;
+import com.example.jsontoxml2.service.cdc.PostChangeStream;
+import com.example.jsontoxml2.service.likes.PostLikeAccumulator;
+import com.example.jsontoxml2.service.search.PostSearchIndex;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -23,17 +42,30 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -48,7 +80,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(
-        properties = { "spring.liquibase.enabled=false" },
+        properties = {
+                "spring.liquibase.enabled=false",
+                "posts.search.index-dir=",
+                "posts.cache.invalidation.enabled=false",
+                "outbox.enabled=false",
+                "posts.ingestion.enabled=false",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+        },
         webEnvironment = SpringBootTest.WebEnvironment.MOCK,
         classes = Main.class)
 @AutoConfigureMockMvc
@@ -67,6 +107,24 @@ class PostControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PostLikeAccumulator postLikeAccumulator;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PostChangeEventCodec postChangeEventCodec;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PostImportJobStateRepository postImportJobStateRepository;
+
     private static Long userId;
 
     @BeforeAll
@@ -80,6 +138,13 @@ class PostControllerTest {
     @AfterEach
     public void afterEach() {
         postRepository.deleteAll();
+        postImportJobStateRepository.deleteAll();
+    }
+
+    private List<PostEventDto> decodeChangeEvents() {
+        return outboxEventRepository.findAll().stream()
+                .map(event -> postChangeEventCodec.decode(event.getPayload()))
+                .toList();
     }
 
     private Post createPost(String title, String content, Boolean isPublished, Long user) {
@@ -189,6 +254,116 @@ class PostControllerTest {
     }
 
 
+    @Test
+    void testLikePost_WhenLikesFlushed_ThanLikesCountIsIncremented() throws Exception {
+        // Given
+        Post savedPostFromDb = createPost("Test Post", "This is a test post content.", true, userId);
+
+        // When
+        for (int like = 0; like < 3; like++) {
+            mvc.perform(post("/api/v1/posts/{id}/like", savedPostFromDb.getId()))
+                    .andExpect(status().isAccepted());
+        }
+        mvc.perform(delete("/api/v1/posts/{id}/like", savedPostFromDb.getId()))
+                .andExpect(status().isAccepted());
+        postLikeAccumulator.flush();
+
+        // Then
+        assertEquals(2, postRepository.findById(savedPostFromDb.getId()).orElseThrow().getLikesCount());
+        mvc.perform(get("/api/v1/posts/{id}", savedPostFromDb.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likesCount").value(2));
+    }
+
+    @Test
+    void testLikePost_WhenPostDoesNotExist_ThanNotFound() throws Exception {
+        // When/Then
+        mvc.perform(post("/api/v1/posts/{id}/like", 9999999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testBulkDeletePostsByIds() throws Exception {
+        // Given
+        Post firstPost = createPost("Post 1", "Content 1", true, userId);
+        Post secondPost = createPost("Post 2", "Content 2", true, userId);
+        Post keptPost = createPost("Post 3", "Content 3", true, userId);
+
+        String requestBody = """
+                {
+                    "ids": [%d, %d, 9999999]
+                }
+                """.formatted(firstPost.getId(), secondPost.getId());
+        outboxEventRepository.deleteAll();
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedPosts").value(2));
+
+        assertEquals(1, postRepository.count());
+        assertTrue(postRepository.findById(keptPost.getId()).isPresent());
+
+        List<PostEventDto> events = decodeChangeEvents();
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getType() == PostEventType.DELETED
+                && event.getUserId().equals(userId)));
+        assertEquals(Set.of(firstPost.getId(), secondPost.getId()),
+                events.stream().map(PostEventDto::getPostId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testBulkUpdatePostsByFilter_ThanOnlyMatchingPostsChange() throws Exception {
+        // Given
+        Post publishedPost = createPost("Post 1", "Content 1", true, userId);
+        Post draftPost = createPost("Post 2", "Content 2", false, userId);
+
+        String requestBody = """
+                {
+                    "filter": { "userId": %d, "isPublished": true },
+                    "isPublished": false
+                }
+                """.formatted(userId);
+        outboxEventRepository.deleteAll();
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedPosts").value(1));
+
+        assertFalse(postRepository.findById(publishedPost.getId()).orElseThrow().getIsPublished());
+        assertFalse(postRepository.findById(draftPost.getId()).orElseThrow().getIsPublished());
+
+        List<PostEventDto> events = decodeChangeEvents();
+        assertEquals(1, events.size());
+        assertEquals(PostEventType.UPDATED, events.get(0).getType());
+        assertEquals(publishedPost.getId(), events.get(0).getPostId());
+        assertEquals("Content 1", events.get(0).getContent());
+        assertFalse(events.get(0).getIsPublished());
+    }
+
+    @Test
+    void testBulkUpdatePosts_WhenIdsAndFilterBothGiven_ThanBadRequest() throws Exception {
+        // Given
+        String requestBody = """
+                {
+                    "ids": [1],
+                    "filter": { "userId": %d },
+                    "isPublished": false
+                }
+                """.formatted(userId);
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testUpdatePostIsOk() throws Exception {
         // Given
@@ -214,6 +389,29 @@ class PostControllerTest {
         assertEquals(postUpdateRequestDto.getLikesCount(), updatedPost.getLikesCount());
     }
 
+    @Test
+    void testGetPostById_WhenPostUpdatedAfterRead_ThanReturnsUpdatedPost() throws Exception {
+        // Given
+        Post savedPostFromDb = createPost("Test Post",
+                "This is a test post content.", true, userId);
+        mvc.perform(get("/api/v1/posts/{id}", savedPostFromDb.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Post"));
+
+        PostUpdateRequestDto postUpdateRequestDto = new PostUpdateRequestDto("Updated Title",
+                "Updated content", true, 1, userId);
+        mvc.perform(put("/api/v1/posts/{id}", savedPostFromDb.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postUpdateRequestDto)))
+                .andExpect(status().isOk());
+
+        // When/Then
+        mvc.perform(get("/api/v1/posts/{id}", savedPostFromDb.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated Title"))
+                .andExpect(jsonPath("$.likesCount").value(1));
+    }
+
     @Test
     void testUpdatePostNotFound() throws Exception {
         // Given
@@ -281,6 +479,347 @@ class PostControllerTest {
         assertTrue(postTitles.contains("Title 3"), "Should contain post with title 'Title 3'");
     }
 
+    @Test
+    void testGetPostList_WhenAuthorsAreShown_ThanEachPageIsOneStatement(
+            @Autowired EntityManagerFactory entityManagerFactory) throws Exception {
+        // Given
+        createPost("Title 1", "Content 1", true, userId);
+        createPost("Title 2", "Content 2", true, userId);
+        createPost("Title 3", "Content 3", true, userId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String body = """
+                  {
+                      "userId": %d,
+                      "page": 0,
+                      "size": 2,
+                      "totalMode": "EXACT"
+                  }
+                """.formatted(userId);
+
+        // When
+        statistics.clear();
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.list[*].user.username").value(everyItem(is("Anna Lore"))));
+        long offsetPageStatements = statistics.getPrepareStatementCount();
+
+        String nextCursor = objectMapper.readTree(mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"userId": %d, "size": 2, "cursor": ""}
+                                """.formatted(userId)))
+                .andReturn().getResponse().getContentAsString()).get("nextCursor").asText();
+        statistics.clear();
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"userId": %d, "size": 2, "cursor": "%s"}
+                                """.formatted(userId, nextCursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.list[0].user.username").value("Anna Lore"));
+        long cursorPageStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        assertEquals(1, offsetPageStatements, "An offset page with its total and authors should be one statement");
+        assertEquals(1, cursorPageStatements, "A cursor page with its authors should be one statement");
+    }
+
+    @Test
+    void testGetPostList_WhenTotalModeIsExactOrEstimated_ThanReturnsTotalPages() throws Exception {
+        // Given
+        createPost("Title 1", "Content 1", true, userId);
+        createPost("Title 2", "Content 2", true, userId);
+        createPost("Title 3", "Content 3", false, userId);
+
+        String body = """
+                  {
+                      "userId": %d,
+                      "page": 1,
+                      "size": 2,
+                      "totalMode": "%s"
+                  }
+                """;
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted(userId, "EXACT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.totalEstimated").doesNotExist());
+
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted(userId, "ESTIMATED")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.totalEstimated").value(true));
+    }
+
+    @Test
+    void testGetPostList_WhenNoUserIdAndSortedByLikes_ThanReturnsGlobalFeed(
+            @Autowired UserRepository userRepository) throws Exception {
+        // Given
+        User otherUser = userRepository.save(modelMapper.map(
+                new UserSaveDto("Feed Author", "feed.author@example.com"), User.class));
+        Long[][] postsSpec = {{userId, 5L}, {otherUser.getId(), 50L}, {userId, 20L}, {otherUser.getId(), 500L}};
+        List<Post> posts = new ArrayList<>();
+        for (Long[] postSpec : postsSpec) {
+            Post post = createPost("Title", "Content", true, postSpec[0]);
+            post.setLikesCount(postSpec[1].intValue());
+            posts.add(postRepository.save(post));
+        }
+        createPost("Draft", "Content", false, otherUser.getId());
+
+        String body = """
+                  {
+                      "isPublished": true,
+                      "likesCount": 10,
+                      "maxLikesCount": 100,
+                      "sort": "LIKES_DESC",
+                      "page": 0,
+                      "size": 10
+                  }
+                """;
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.list[0].id").value(posts.get(1).getId()))
+                .andExpect(jsonPath("$.list[1].id").value(posts.get(2).getId()))
+                .andExpect(jsonPath("$.totalPages").value(1));
+    }
+
+    @Test
+    void testGetPostList_WhenSearchGiven_ThanReturnsRankedMatches() throws Exception {
+        // Given
+        Post contentMatch = createPost("Weekly notes", "Notes about the kafka consumer lag", true, userId);
+        Post titleMatch = createPost("Kafka consumer tuning", "Fetch sizes and consumer lag", true, userId);
+        createPost("Unrelated", "Nothing to see here", true, userId);
+        createPost("Kafka draft", "Unpublished consumer notes", false, userId);
+        postSearchIndex.catchUp();
+        postSearchIndex.refresh();
+
+        String body = """
+                  {
+                      "userId": %d,
+                      "isPublished": true,
+                      "search": "kafka consumer",
+                      "page": 0,
+                      "size": 10
+                  }
+                """.formatted(userId);
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.list[0].id").value(titleMatch.getId()))
+                .andExpect(jsonPath("$.list[1].id").value(contentMatch.getId()))
+                .andExpect(jsonPath("$.totalPages").value(1));
+    }
+
+    @Test
+    void testGetPostList_WhenPostsChangedBehindTheIndex_ThanCatchUpReconcilesThem() throws Exception {
+        // Given
+        Post renamed = createPost("Weekly notes", "Nothing to see here", true, userId);
+        Post removed = createPost("Kafka retention", "Old notes", true, userId);
+        postSearchIndex.catchUp();
+        renamed.setTitle("Kafka partitions");
+        postRepository.save(renamed);
+        transactionTemplate.executeWithoutResult(status -> postRepository.deleteByIds(List.of(removed.getId())));
+
+        // When
+        postSearchIndex.catchUp();
+        postSearchIndex.refresh();
+
+        // Then
+        String body = """
+                  {
+                      "userId": %d,
+                      "search": "kafka",
+                      "page": 0,
+                      "size": 10
+                  }
+                """.formatted(userId);
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.list[0].id").value(renamed.getId()));
+    }
+
+    @Test
+    void testReadiness_WhenSearchIndexCaughtUp_ThanIsUp() throws Exception {
+        // Given
+        postSearchIndex.catchUp();
+
+        // When/Then
+        mvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void testGetPostList_WhenCursorMode_ThanPagesWithNextCursor() throws Exception {
+        // Given
+        Post post1 = createPost("Title 1", "Content 1", true, userId);
+        Post post2 = createPost("Title 2", "Content 2", true, userId);
+        Post post3 = createPost("Title 3", "Content 3", true, userId);
+
+        String firstPageBody = """
+                  {
+                      "userId": %d,
+                      "size": 2,
+                      "cursor": ""
+                  }
+                """.formatted(userId);
+
+        // When
+        MvcResult firstPage = mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(firstPageBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.list[0].id").value(post1.getId()))
+                .andExpect(jsonPath("$.list[1].id").value(post2.getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asText();
+        String secondPageBody = """
+                  {
+                      "userId": %d,
+                      "size": 2,
+                      "cursor": "%s"
+                  }
+                """.formatted(userId, nextCursor);
+
+        // Then
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(secondPageBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.list[0].id").value(post3.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void testGetPostList_WhenCursorModeSortedByLikes_ThanPagesAcrossLikesTies() throws Exception {
+        // Given
+        int[] likes = {5, 20, 20, 1};
+        List<Post> posts = new ArrayList<>();
+        for (int likesCount : likes) {
+            Post post = createPost("Title", "Content", true, userId);
+            post.setLikesCount(likesCount);
+            posts.add(postRepository.save(post));
+        }
+
+        String firstPageBody = """
+                  {
+                      "userId": %d,
+                      "sort": "LIKES_DESC",
+                      "size": 2,
+                      "cursor": ""
+                  }
+                """.formatted(userId);
+
+        // When
+        MvcResult firstPage = mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(firstPageBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.list[0].id").value(posts.get(2).getId()))
+                .andExpect(jsonPath("$.list[1].id").value(posts.get(1).getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asText();
+        String secondPageBody = """
+                  {
+                      "userId": %d,
+                      "sort": "LIKES_DESC",
+                      "size": 2,
+                      "cursor": "%s"
+                  }
+                """.formatted(userId, nextCursor);
+
+        // Then
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(secondPageBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.list[0].id").value(posts.get(0).getId()))
+                .andExpect(jsonPath("$.list[1].id").value(posts.get(3).getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        String idSortBody = """
+                  {
+                      "userId": %d,
+                      "size": 2,
+                      "cursor": "%s"
+                  }
+                """.formatted(userId, nextCursor);
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(idSortBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetPostList_WhenNoUserIdAndSortedByLikesWithoutPublishedFilter_isBadRequest() throws Exception {
+        // Given
+        String body = """
+                  {
+                      "sort": "LIKES_DESC",
+                      "page": 0,
+                      "size": 10
+                  }
+                """;
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetPostList_WhenNeitherPageNorCursor_isBadRequest() throws Exception {
+        // Given
+        String body = """
+                  {
+                      "userId": %d,
+                      "size": 2
+                  }
+                """.formatted(userId);
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetPostList_WhenPageIsNegative_isBadRequest() throws Exception {
         // Given
@@ -361,6 +900,148 @@ class PostControllerTest {
         assertTrue(postLines.stream().anyMatch(line -> line.contains(post3.getId().toString())), "CSV should contain post with ID " + post3.getId());
     }
 
+    @Test
+    void testGenerateReport_WhenMorePostsThanFetchSize_ThanEveryMatchingRowIsStreamed() throws Exception {
+        // Given
+        User user = new User();
+        user.setId(userId);
+        List<Post> posts = IntStream.range(0, 2500)
+                .mapToObj(row -> new Post(null, "Title " + row, "Content " + row, row % 2 == 0, row, user, null))
+                .collect(Collectors.toCollection(ArrayList::new));
+        postRepository.batchInsert(posts);
+
+        Set<String> publishedIds = posts.stream()
+                .filter(Post::getIsPublished)
+                .map(post -> post.getId().toString())
+                .collect(Collectors.toSet());
+
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("userId", userId);
+        filters.put("isPublished", true);
+
+        // When
+        MvcResult mvcResult = mvc.perform(post("/api/v1/posts/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(filters)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String[] csvLines = mvcResult.getResponse().getContentAsString().split("\\r?\\n");
+        assertEquals(1 + publishedIds.size(), csvLines.length, "CSV should have the header and every published post");
+
+        Set<String> reportedIds = Arrays.stream(csvLines).skip(1)
+                .map(line -> line.substring(0, line.indexOf(';')))
+                .collect(Collectors.toSet());
+        assertEquals(publishedIds, reportedIds);
+    }
+
+    @Test
+    void testGenerateReport_WhenFieldsContainSeparators_ThanTheyAreQuoted() throws Exception {
+        // Given
+        Post post = createPost("Title; with \"quotes\"", "Line 1\nLine 2", true, userId);
+
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("userId", userId);
+
+        // When
+        MvcResult mvcResult = mvc.perform(post("/api/v1/posts/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(filters)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String csvContent = mvcResult.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String expectedRow = "%d;\"Title; with \"\"quotes\"\"\";\"Line 1\nLine 2\";0;true;%d\n"
+                .formatted(post.getId(), userId);
+        assertTrue(csvContent.endsWith(expectedRow), "CSV row should quote and escape title and content");
+    }
+
+    @Test
+    void testGenerateReport_WhenGzipAccepted_ThanResponseIsCompressed() throws Exception {
+        // Given
+        Post post = createPost("Title 1", "Content 1", true, userId);
+
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("userId", userId);
+
+        // When
+        MvcResult mvcResult = mvc.perform(post("/api/v1/posts/_report")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(filters)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertEquals("gzip", mvcResult.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+
+        byte[] compressed = mvcResult.getResponse().getContentAsByteArray();
+        String csvContent;
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            csvContent = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(csvContent.startsWith("Post ID;Title;Content;Likes Count;Published;User ID\n"));
+        assertTrue(csvContent.contains(post.getId() + ";Title 1;Content 1;0;true;" + userId));
+    }
+
+    @Test
+    void testGenerateReport_WhenCompressionUnsupported_ThanBadRequest() throws Exception {
+        // Given
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("userId", userId);
+
+        // When/Then
+        mvc.perform(post("/api/v1/posts/_report")
+                        .param("compression", "brotli")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(filters)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGenerateReport_WhenArrowFormatRequested_ThanReturnsArrowStream() throws Exception {
+        // Given
+        Post post1 = createPost("Title 1", "Content 1", true, userId);
+        Post post2 = createPost("Title 2", "Content 2", false, userId);
+
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("userId", userId);
+
+        // When
+        MvcResult mvcResult = mvc.perform(post("/api/v1/posts/_report")
+                        .param("format", "arrow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(filters)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertEquals("application/vnd.apache.arrow.stream", mvcResult.getResponse().getContentType());
+        assertTrue(mvcResult.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("report.arrows"));
+
+        List<Long> ids = new ArrayList<>();
+        List<String> titles = new ArrayList<>();
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(
+                     new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                BigIntVector idVector = (BigIntVector) root.getVector("id");
+                VarCharVector titleVector = (VarCharVector) root.getVector("title");
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    ids.add(idVector.get(row));
+                    titles.add(new String(titleVector.get(row), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        assertEquals(2, ids.size(), "Arrow stream should contain 2 posts");
+        assertTrue(ids.containsAll(List.of(post1.getId(), post2.getId())));
+        assertTrue(titles.containsAll(List.of("Title 1", "Title 2")));
+    }
+
     @Test
     void testUploadPosts_WhenTwoValidAndOneNotValid() throws Exception {
         // Given
@@ -413,4 +1094,340 @@ class PostControllerTest {
                 !post.getIsPublished() && post.getUser().getId().equals(userId)), "Should contain the valid post 2");
     }
 
+    @Test
+    void testSnapshotChanges_ThanEveryPostIsWrittenAndDeletedPostsAreTombstoned() throws Exception {
+        // Given
+        Post post1 = createPost("Title 1", "Content 1", true, userId);
+        Post deletedPost = createPost("Title 2", "Content 2", true, userId);
+        Post post3 = createPost("Title 3", "Content 3", false, userId);
+        transactionTemplate.executeWithoutResult(status -> postRepository.deleteByIds(List.of(deletedPost.getId())));
+        outboxEventRepository.deleteAll();
+
+        // When
+        mvc.perform(post("/api/v1/posts/_changes/snapshot")
+                        .param("afterId", String.valueOf(post1.getId() - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshottedPosts").value(2))
+                .andExpect(jsonPath("$.deletedPosts").value(1))
+                .andExpect(jsonPath("$.lastPostId").value(post3.getId()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        // Then
+        List<PostEventDto> events = decodeChangeEvents();
+        assertEquals(3, events.size());
+        assertTrue(events.stream().anyMatch(event -> event.getType() == PostEventType.SNAPSHOT
+                && event.getPostId().equals(post3.getId()) && "Content 3".equals(event.getContent())
+                && !event.getIsPublished()));
+        assertTrue(events.stream().anyMatch(event -> event.getType() == PostEventType.DELETED
+                && event.getPostId().equals(deletedPost.getId()) && event.getUserId().equals(userId)));
+    }
+
+    @Test
+    void testSnapshotChanges_WhenIdsWereNeverRecordedAsDeleted_ThanNoTombstonesAreWritten() throws Exception {
+        // Given
+        Post purgedPost = createPost("Title 0", "Content 0", true, userId);
+        postRepository.deleteById(purgedPost.getId());
+        Post post1 = createPost("Title 1", "Content 1", true, userId);
+        outboxEventRepository.deleteAll();
+
+        // When
+        mvc.perform(post("/api/v1/posts/_changes/snapshot")
+                        .param("afterId", String.valueOf(purgedPost.getId() - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshottedPosts").value(1))
+                .andExpect(jsonPath("$.deletedPosts").value(0))
+                .andExpect(jsonPath("$.lastPostId").value(post1.getId()));
+
+        // Then
+        List<PostEventDto> events = decodeChangeEvents();
+        assertEquals(1, events.size());
+        assertEquals(PostEventType.SNAPSHOT, events.get(0).getType());
+    }
+
+    @Test
+    void testSnapshotChanges_WhenRangeExceedsCallLimit_ThanResumesFromLastPostId(
+            @Autowired PostChangeStream postChangeStream) throws Exception {
+        // Given
+        Post post1 = createPost("Title 1", "Content 1", true, userId);
+        Post post2 = createPost("Title 2", "Content 2", true, userId);
+        outboxEventRepository.deleteAll();
+        ReflectionTestUtils.setField(postChangeStream, "snapshotMaxIds", 1L);
+
+        // When
+        MvcResult firstCall;
+        try {
+            firstCall = mvc.perform(post("/api/v1/posts/_changes/snapshot")
+                            .param("afterId", String.valueOf(post1.getId() - 1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.snapshottedPosts").value(1))
+                    .andExpect(jsonPath("$.lastPostId").value(post1.getId()))
+                    .andExpect(jsonPath("$.hasMore").value(true))
+                    .andReturn();
+        } finally {
+            ReflectionTestUtils.setField(postChangeStream, "snapshotMaxIds", 100000L);
+        }
+
+        // Then
+        long lastPostId = objectMapper.readTree(firstCall.getResponse().getContentAsString())
+                .get("lastPostId").asLong();
+        mvc.perform(post("/api/v1/posts/_changes/snapshot")
+                        .param("afterId", String.valueOf(lastPostId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshottedPosts").value(1))
+                .andExpect(jsonPath("$.lastPostId").value(post2.getId()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        assertEquals(List.of(post1.getId(), post2.getId()),
+                decodeChangeEvents().stream().map(PostEventDto::getPostId).sorted().toList());
+    }
+
+    @Test
+    void testUploadPosts_WhenRowsFail_ThanReportsTheirIndexes() throws Exception {
+        // Given
+        long nonExistentId = 9999999L;
+        String jsonData = """
+                [
+                    {
+                        "title": "Post 1",
+                        "content": "Content 1",
+                        "isPublished": true,
+                        "userId": %d
+                    },
+                    {
+                        "content": "Content 2",
+                        "isPublished": false,
+                        "userId": %d
+                    },
+                    {
+                        "title": "Post 3",
+                        "content": "Content 3",
+                        "isPublished": true,
+                        "userId": %d
+                    }
+                ]
+                """.formatted(userId, userId, nonExistentId);
+
+        MockMultipartFile file = new MockMultipartFile("file", jsonData.getBytes(StandardCharsets.UTF_8));
+
+        // When/Then
+        mvc.perform(multipart("/api/v1/posts/upload")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulImports").value(1))
+                .andExpect(jsonPath("$.failedImports").value(2))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].reason").value("title: Title is required"))
+                .andExpect(jsonPath("$.errors[1].index").value(2));
+
+        assertEquals(1, postRepository.count(), "Should have 1 post saved in the database");
+    }
+
+    @Test
+    void testUploadPosts_WhenRowHasWrongTypes_ThanReportsItAndImportsTheRest() throws Exception {
+        // Given
+        String jsonData = """
+                [
+                    {
+                        "title": "Post 1",
+                        "content": "Content 1",
+                        "isPublished": true,
+                        "userId": %d
+                    },
+                    {
+                        "title": {"nested": ["value"]},
+                        "content": "Content 2",
+                        "isPublished": false,
+                        "userId": "not-a-number"
+                    },
+                    {
+                        "title": "Post 3",
+                        "content": "Content 3",
+                        "isPublished": false,
+                        "userId": %d
+                    }
+                ]
+                """.formatted(userId, userId);
+
+        MockMultipartFile file = new MockMultipartFile("file", jsonData.getBytes(StandardCharsets.UTF_8));
+
+        // When/Then
+        mvc.perform(multipart("/api/v1/posts/upload")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulImports").value(2))
+                .andExpect(jsonPath("$.failedImports").value(1))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(8))
+                .andExpect(jsonPath("$.errors[0].reason").value(startsWith("title: ")));
+
+        List<Post> savedPosts = postRepository.findAll();
+        assertEquals(2, savedPosts.size(), "Should have 2 posts saved in the database");
+        assertTrue(savedPosts.stream().anyMatch(post -> post.getTitle().equals("Post 3")),
+                "Should contain the post after the malformed row");
+    }
+
+    @Test
+    void testUploadPosts_WhenRowsSpanBatchesAndOneRowFailsInsert_ThanOnlyThatRowIsRejected() throws Exception {
+        // Given
+        long nonExistentId = 9999999L;
+        List<PostCreateRequestDto> rows = IntStream.range(0, 2500)
+                .mapToObj(row -> new PostCreateRequestDto("Post " + row, "Content " + row, true,
+                        row == 1700 ? nonExistentId : userId))
+                .toList();
+
+        MockMultipartFile file = new MockMultipartFile("file", objectMapper.writeValueAsBytes(rows));
+
+        // When/Then
+        mvc.perform(multipart("/api/v1/posts/upload")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulImports").value(2499))
+                .andExpect(jsonPath("$.failedImports").value(1))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1700));
+
+        assertEquals(2499, postRepository.count(), "Should have every row except the failed one saved");
+        assertTrue(postRepository.findAll().stream().noneMatch(post -> post.getTitle().equals("Post 1700")),
+                "Should not contain the row that failed to insert");
+    }
+
+    @Test
+    void testUploadPosts_WhenInvalidRowsSpanValidationChunks_ThanErrorsAreReportedInRowOrder() throws Exception {
+        // Given
+        List<Integer> invalidRows = List.of(3, 1200, 2450);
+        List<PostCreateRequestDto> rows = IntStream.range(0, 2500)
+                .mapToObj(row -> new PostCreateRequestDto(invalidRows.contains(row) ? null : "Post " + row,
+                        "Content " + row, row % 2 == 0, userId))
+                .toList();
+
+        MockMultipartFile file = new MockMultipartFile("file", objectMapper.writeValueAsBytes(rows));
+
+        // When/Then
+        mvc.perform(multipart("/api/v1/posts/upload")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulImports").value(2497))
+                .andExpect(jsonPath("$.failedImports").value(3))
+                .andExpect(jsonPath("$.errors[*].index").value(contains(3, 1200, 2450)))
+                .andExpect(jsonPath("$.errors[*].reason").value(everyItem(is("title: Title is required"))));
+
+        List<Post> savedPosts = postRepository.findAll();
+        assertEquals(2497, savedPosts.size(), "Should have every valid row saved");
+        assertEquals(1248, savedPosts.stream().filter(Post::getIsPublished).count(),
+                "Should map the published flag of every row");
+    }
+
+    @Test
+    void testUploadPostsAsync_WhenJobCompletes_ThanReportsProgress() throws Exception {
+        // Given
+        String jsonData = """
+                [
+                    {
+                        "title": "Post 1",
+                        "content": "Content 1",
+                        "isPublished": true,
+                        "userId": %d
+                    },
+                    {
+                        "title": "Post 2",
+                        "content": "Content 2",
+                        "isPublished": false,
+                        "userId": %d
+                    }
+                ]
+                """.formatted(userId, userId);
+
+        MockMultipartFile file = new MockMultipartFile("file", jsonData.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        MvcResult submitResult = mvc.perform(multipart("/api/v1/posts/upload")
+                        .file(file)
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn();
+
+        String jobId = objectMapper.readTree(submitResult.getResponse().getContentAsString()).get("jobId").asText();
+
+        Map<String, Object> job = Map.of();
+        for (int attempt = 0; attempt < 50; attempt++) {
+            MvcResult pollResult = mvc.perform(get("/api/v1/posts/upload/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            job = objectMapper.readValue(pollResult.getResponse().getContentAsString(),
+                    new TypeReference<Map<String, Object>>() {});
+            if ("COMPLETED".equals(job.get("status"))) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        // Then
+        assertEquals("COMPLETED", job.get("status"), "Import job should complete");
+        assertEquals(2, job.get("processedRows"), "Should have processed 2 rows");
+        assertEquals(2, job.get("successfulImports"), "Should have 2 successful imports");
+        assertEquals(0, job.get("failedImports"), "Should have no failed imports");
+        assertEquals(2, postRepository.count(), "Should have 2 posts saved in the database");
+    }
+
+    @Test
+    void testGetImportJob_WhenJobDoesNotExist_ThanNotFound() throws Exception {
+        mvc.perform(get("/api/v1/posts/upload/{jobId}", "unknown-job"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage")
+                        .value("An error occurred: Import job not found with id: unknown-job"));
+    }
+
+    @Test
+    void testGetImportJob_WhenJobRanOnAnotherNode_ThanReadsItsStatusFromTheDatabase() throws Exception {
+        // Given
+        Instant startedAt = Instant.now().minusSeconds(2);
+        PostImportJobState state = new PostImportJobState();
+        state.setId("job-from-another-node");
+        state.setStatus(PostImportJobStatus.COMPLETED);
+        state.setProcessedRows(3);
+        state.setSuccessfulImports(2);
+        state.setFailedImports(1);
+        state.setErrors("[{\"index\":2,\"line\":12,\"reason\":\"title: Title is required\"}]");
+        state.setCreatedAt(startedAt);
+        state.setStartedAt(startedAt);
+        state.setFinishedAt(startedAt.plusSeconds(1));
+        state.setUpdatedAt(startedAt.plusSeconds(1));
+        postImportJobStateRepository.save(state);
+
+        // When/Then
+        mvc.perform(get("/api/v1/posts/upload/{jobId}", "job-from-another-node"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.processedRows").value(3))
+                .andExpect(jsonPath("$.successfulImports").value(2))
+                .andExpect(jsonPath("$.failedImports").value(1))
+                .andExpect(jsonPath("$.rowsPerSecond").value(3.0))
+                .andExpect(jsonPath("$.errors[0].line").value(12))
+                .andExpect(jsonPath("$.errors[0].reason").value("title: Title is required"));
+    }
+
+    @Test
+    void testCancelImportJob_WhenJobRunsOnAnotherNode_ThanCancellationIsRequested() throws Exception {
+        // Given
+        PostImportJobState state = new PostImportJobState();
+        state.setId("running-on-another-node");
+        state.setStatus(PostImportJobStatus.RUNNING);
+        state.setCreatedAt(Instant.now());
+        state.setStartedAt(Instant.now());
+        state.setUpdatedAt(Instant.now());
+        postImportJobStateRepository.save(state);
+
+        // When
+        mvc.perform(delete("/api/v1/posts/upload/{jobId}", "running-on-another-node"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLING"));
+
+        // Then
+        assertTrue(postImportJobStateRepository.findById("running-on-another-node").orElseThrow()
+                .isCancelRequested());
+    }
+
 }
@@ -4,13 +4,13 @@ import com.example.jsontoxml2.Main;
 import com.example.jsontoxml2.model.dto.user.UserInfoDto;
 import com.example.jsontoxml2.model.dto.user.UserSaveDto;
 import com.example.jsontoxml2.model.entity.User;
+import com.example.jsontoxml2.repository.outbox.OutboxEventRepository;
 import com.example.jsontoxml2.repository.user.UserRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -22,9 +22,9 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -40,7 +40,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @SpringBootTest(
-        properties = { "spring.liquibase.enabled=false" },
+        properties = {
+                "spring.liquibase.enabled=false",
+                "posts.search.index-dir=",
+                "posts.cache.invalidation.enabled=false",
+                "outbox.enabled=false",
+                "posts.ingestion.enabled=false"
+        },
         webEnvironment = SpringBootTest.WebEnvironment.MOCK,
         classes = Main.class)
 @AutoConfigureMockMvc
@@ -53,6 +59,9 @@ class UserControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -101,9 +110,6 @@ class UserControllerTest {
         // Given
         UserSaveDto userSaveDto = new UserSaveDto("jane smith", "jane.smith@example.com");
 
-        // Mock Kafka producer behavior
-        Mockito.when(kafkaTemplate.send(Mockito.anyString(), Mockito.anyString()))
-                .thenReturn(CompletableFuture.completedFuture(null));
         // When
         MvcResult mvcResult = mvc.perform(post("/api/v1/users")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -118,6 +124,9 @@ class UserControllerTest {
         assertThat(savedUserFromDb.getId()).isGreaterThanOrEqualTo(1);
         assertEquals(userSaveDto.getUsername(), savedUserFromDb.getUsername());
         assertEquals(userSaveDto.getEmail(), savedUserFromDb.getEmail());
+        assertThat(outboxEventRepository.findAll())
+                .anyMatch(event -> event.getEventKey().equals(String.valueOf(savedUserFromDb.getId()))
+                        && new String(event.getPayload(), StandardCharsets.UTF_8).equals(userSaveDto.getEmail()));
     }
 
     @Test
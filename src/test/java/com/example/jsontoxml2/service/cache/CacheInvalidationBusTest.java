@@ -0,0 +1,163 @@
+package com.example.jsontoxml2.service.cache;
+
+import com.example.jsontoxml2.Main;
+import com.example.jsontoxml2.model.dto.post.PostInfoDto;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {
+                "spring.liquibase.enabled=false",
+                "posts.search.index-dir=",
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "posts.cache.invalidation.enabled=true",
+                "posts.cache.invalidation.topic=cache-invalidation",
+                "posts.ingestion.enabled=false"
+        },
+        classes = Main.class)
+@AutoConfigureTestDatabase
+@EmbeddedKafka(partitions = 1, topics = "cache-invalidation")
+class CacheInvalidationBusTest {
+
+    @Autowired
+    private PostInfoCache postInfoCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ContainerTestUtils.waitForAssignment(kafkaListenerEndpointRegistry.getListenerContainer("cacheInvalidation"),
+                embeddedKafkaBroker.getPartitionsPerTopic());
+        postInfoCache.evictAll();
+        loads.set(0);
+    }
+
+    private PostInfoDto load(Long id) {
+        loads.incrementAndGet();
+        PostInfoDto post = new PostInfoDto();
+        post.setId(id);
+        return post;
+    }
+
+    private void awaitReload(Long id) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> {
+            postInfoCache.get(id, this::load);
+            return loads.get() >= 2;
+        });
+    }
+
+    @Test
+    void testRemotePostInvalidation_ThanEntryIsEvicted() throws Exception {
+        // Given
+        postInfoCache.get(42L, this::load);
+
+        // When
+        kafkaTemplate.send("cache-invalidation", "remote-node", "remote-node:1:P:42");
+        awaitReload(42L);
+
+        // Then
+        assertEquals(2, loads.get(), "Post should be reloaded after a remote invalidation");
+    }
+
+    @Test
+    void testRemoteSequenceGap_ThanWholeCacheIsReset() throws Exception {
+        // Given
+        kafkaTemplate.send("cache-invalidation", "gap-node", "gap-node:1:P:1");
+        kafkaTemplate.send("cache-invalidation", "gap-node", "gap-node:2:P:2").get();
+        postInfoCache.get(7L, this::load);
+
+        // When
+        kafkaTemplate.send("cache-invalidation", "gap-node", "gap-node:5:P:3");
+        awaitReload(7L);
+
+        // Then
+        assertEquals(2, loads.get(), "Unrelated post should be reloaded after missed invalidations");
+    }
+
+    @Test
+    void testConcurrentPublish_ThanSequencesReachTopicInOrder() throws Exception {
+        // Given
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("sequence-check", "false", embeddedKafkaBroker);
+        Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new StringDeserializer()).createConsumer();
+        embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, "cache-invalidation");
+        int threads = 8;
+        int eventsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int thread = 0; thread < threads; thread++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int event = 0; event < eventsPerThread; event++) {
+                    cacheInvalidationBus.publish(CacheInvalidationKind.POST, (long) event);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        List<Long> sequences = new ArrayList<>();
+        await().atMost(Duration.ofSeconds(20)).until(() -> {
+            KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500)).forEach(record -> {
+                if (cacheInvalidationBus.getNodeId().equals(record.key())) {
+                    sequences.add(Long.parseLong(record.value().split(":")[1]));
+                }
+            });
+            return sequences.size() >= threads * eventsPerThread;
+        });
+        consumer.close();
+
+        assertEquals(threads * eventsPerThread, sequences.size());
+        for (int i = 1; i < sequences.size(); i++) {
+            assertEquals(sequences.get(i - 1) + 1, sequences.get(i), "Sequences must reach the topic in order");
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.example.jsontoxml2.service.counter;
+
+import com.example.jsontoxml2.repository.post.PostCountBucket;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostCounterStoreTest {
+
+    private static final long USER_ID = 7L;
+
+    private PostRepository postRepository;
+    private PostCounterStore postCounterStore;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        postCounterStore = new PostCounterStore(postRepository);
+        ReflectionTestUtils.setField(postCounterStore, "maxUsers", 100);
+
+        when(postRepository.countByLikesBuckets(anyCollection(), any())).thenReturn(List.of(
+                new PostCountBucket(USER_ID, true, 2, 10, 99),
+                new PostCountBucket(USER_ID, false, 0, 4, 0)));
+    }
+
+    @Test
+    void testCount_WhenNoLikesBound_ThanSumsMatchingBuckets() {
+        assertEquals(14, postCounterStore.count(USER_ID, null, null));
+        assertEquals(10, postCounterStore.count(USER_ID, true, null));
+        assertEquals(4, postCounterStore.count(USER_ID, false, null));
+    }
+
+    @Test
+    void testCount_WhenLikesBoundFallsInsideBucket_ThanInterpolatesLinearly() {
+        assertEquals(10, postCounterStore.count(USER_ID, true, 10));
+        assertEquals(5, postCounterStore.count(USER_ID, true, 55));
+        assertEquals(0, postCounterStore.count(USER_ID, true, 100));
+        assertEquals(0, postCounterStore.count(USER_ID, false, 1));
+    }
+
+    @Test
+    void testCount_WhenLikesBoundFallsInsideLastBucket_ThanInterpolatesUpToObservedMax() {
+        when(postRepository.countByLikesBuckets(anyCollection(), any())).thenReturn(List.of(
+                new PostCountBucket(USER_ID, true, 6, 10, 199_999)));
+
+        assertEquals(10, postCounterStore.count(USER_ID, true, 100_000));
+        assertEquals(5, postCounterStore.count(USER_ID, true, 150_000));
+        assertEquals(0, postCounterStore.count(USER_ID, true, 200_000));
+    }
+
+    @Test
+    void testRecordLikesChanged_WhenLikesGrowInsideLastBucket_ThanObservedMaxIsRaised() {
+        when(postRepository.countByLikesBuckets(anyCollection(), any())).thenReturn(List.of(
+                new PostCountBucket(USER_ID, true, 6, 1, 100_000)));
+        postCounterStore.count(USER_ID, null, null);
+
+        assertFalse(postCounterStore.recordLikesChanged(USER_ID, true, 100_000, 300_000));
+
+        assertEquals(1, postCounterStore.count(USER_ID, true, 150_000));
+    }
+
+    @Test
+    void testCount_WhenUserLoaded_ThanRepositoryIsQueriedOnce() {
+        postCounterStore.count(USER_ID, null, null);
+        postCounterStore.count(USER_ID, true, 55);
+
+        verify(postRepository, times(1)).countByLikesBuckets(anyCollection(), any());
+    }
+
+    @Test
+    void testRecord_ThanCountersMoveBetweenBuckets() {
+        postCounterStore.count(USER_ID, null, null);
+
+        postCounterStore.recordCreated(USER_ID, false, 0);
+        postCounterStore.recordUpdated(USER_ID, false, 0, USER_ID, true, 0);
+        postCounterStore.recordDeleted(USER_ID, false, 0);
+
+        assertEquals(3, postCounterStore.count(USER_ID, false, null));
+        assertEquals(11, postCounterStore.count(USER_ID, true, null));
+        assertEquals(10, postCounterStore.count(USER_ID, true, 10));
+    }
+
+    @Test
+    void testRecordLikesChanged_WhenBucketChanges_ThanMovesCounter() {
+        postCounterStore.count(USER_ID, null, null);
+
+        assertFalse(postCounterStore.recordLikesChanged(USER_ID, true, 10, 99));
+        assertTrue(postCounterStore.recordLikesChanged(USER_ID, true, 99, 100));
+
+        assertEquals(1, postCounterStore.count(USER_ID, true, 100));
+        assertEquals(10, postCounterStore.count(USER_ID, true, null));
+    }
+
+    @Test
+    void testRecord_WhenUserNotLoaded_ThanNothingIsTracked() {
+        postCounterStore.recordCreated(USER_ID, true, 0);
+
+        assertEquals(14, postCounterStore.count(USER_ID, null, null));
+    }
+
+    @Test
+    void testReconcile_ThanDriftIsReplacedWithStoredCounts() {
+        postCounterStore.count(USER_ID, null, null);
+        postCounterStore.recordCreated(USER_ID, true, 0);
+        postCounterStore.recordCreated(USER_ID, true, 0);
+        assertEquals(16, postCounterStore.count(USER_ID, null, null));
+
+        when(postRepository.countByLikesBuckets(anyCollection(), any())).thenReturn(List.of(
+                new PostCountBucket(USER_ID, true, 2, 10, 99),
+                new PostCountBucket(USER_ID, true, 0, 1, 0),
+                new PostCountBucket(USER_ID, false, 0, 4, 0)));
+        postCounterStore.reconcile();
+
+        assertEquals(15, postCounterStore.count(USER_ID, null, null));
+        assertEquals(11, postCounterStore.count(USER_ID, true, null));
+    }
+
+    @Test
+    void testReconcile_WhenUserHasNoPostsLeft_ThanCountersAreEmptied() {
+        postCounterStore.count(USER_ID, null, null);
+
+        when(postRepository.countByLikesBuckets(anyCollection(), any())).thenReturn(List.of());
+        postCounterStore.reconcile();
+
+        assertEquals(0, postCounterStore.count(USER_ID, null, null));
+    }
+
+}
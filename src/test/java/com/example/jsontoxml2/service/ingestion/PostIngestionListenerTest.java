@@ -0,0 +1,181 @@
+package com.example.jsontoxml2.service.ingestion;
+
+import com.example.jsontoxml2.Main;
+import com.example.jsontoxml2.model.dto.post.PostCreateRequestDto;
+import com.example.jsontoxml2.model.entity.User;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import com.example.jsontoxml2.repository.user.UserRepository;
+import com.example.jsontoxml2.service.importer.PostBatchInsertExecutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(
+        properties = {
+                "spring.liquibase.enabled=false",
+                "posts.search.index-dir=",
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "posts.cache.invalidation.enabled=false",
+                "outbox.enabled=false",
+                "posts.ingestion.enabled=true",
+                "posts.ingestion.topic=post-ingestion-test",
+                "posts.ingestion.retry-backoff-ms=100",
+                "posts.ingestion.dead-letter-topic=post-ingestion-test.DLT"
+        },
+        classes = Main.class)
+@AutoConfigureTestDatabase
+@EmbeddedKafka(partitions = 3, topics = {"post-ingestion-test", "post-ingestion-test.DLT"})
+class PostIngestionListenerTest {
+
+    private static final String RECOVERY_TEST_PAYLOAD = "{\"title\":";
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private PostBatchInsertExecutor postBatchInsertExecutor;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testIngestion_WhenBatchHasInvalidRecords_ThanValidPostsAreInsertedAndRestDeadLettered() throws Exception {
+        // Given
+        ContainerTestUtils.waitForAssignment(kafkaListenerEndpointRegistry.getListenerContainer("postIngestion"),
+                embeddedKafkaBroker.getPartitionsPerTopic());
+        User user = new User();
+        user.setUsername("ingestion user");
+        user.setEmail("ingestion.user@example.com");
+        Long userId = userRepository.save(user).getId();
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("dead-letter-test", "false",
+                embeddedKafkaBroker);
+        Consumer<String, String> deadLetterConsumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new StringDeserializer()).createConsumer();
+        embeddedKafkaBroker.consumeFromAnEmbeddedTopic(deadLetterConsumer, "post-ingestion-test.DLT");
+
+        // When
+        kafkaTemplate.send("post-ingestion-test",
+                objectMapper.writeValueAsString(new PostCreateRequestDto("First", "Content", true, userId)));
+        kafkaTemplate.send("post-ingestion-test",
+                objectMapper.writeValueAsString(new PostCreateRequestDto("Second", "Content", false, userId)));
+        kafkaTemplate.send("post-ingestion-test",
+                objectMapper.writeValueAsString(new PostCreateRequestDto("", "Content", true, userId)));
+        kafkaTemplate.send("post-ingestion-test", "not json").get();
+
+        // Then
+        await().atMost(Duration.ofSeconds(10)).until(() -> postRepository.count() == 2);
+
+        List<ConsumerRecord<String, String>> deadLetters = new ArrayList<>();
+        KafkaTestUtils.getRecords(deadLetterConsumer, Duration.ofSeconds(10), 2).forEach(record -> {
+            if (!record.value().equals(RECOVERY_TEST_PAYLOAD)) {
+                deadLetters.add(record);
+            }
+        });
+        deadLetterConsumer.close();
+
+        assertEquals(2, deadLetters.size());
+        assertTrue(deadLetters.stream().anyMatch(record -> record.value().equals("not json")));
+        assertTrue(deadLetters.stream().allMatch(record ->
+                record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET) != null
+                        && record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE) != null));
+        assertTrue(deadLetters.stream().anyMatch(record -> new String(
+                record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE).value(), StandardCharsets.UTF_8)
+                .equals("title: Title is required")));
+        assertEquals(2, postRepository.count());
+    }
+
+    @Test
+    void testIngestion_WhenDatabaseIsDownThenRecovers_ThanNothingIsDeadLetteredTwiceOrWrongly() throws Exception {
+        // Given
+        ContainerTestUtils.waitForAssignment(kafkaListenerEndpointRegistry.getListenerContainer("postIngestion"),
+                embeddedKafkaBroker.getPartitionsPerTopic());
+        User user = new User();
+        user.setUsername("recovery user");
+        user.setEmail("recovery.user@example.com");
+        Long userId = userRepository.save(user).getId();
+        String validPayload = objectMapper.writeValueAsString(
+                new PostCreateRequestDto("Recovered", "Content", true, userId));
+
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+                .doThrow(new DataAccessResourceFailureException("Database is down"))
+                .doCallRealMethod()
+                .when(postBatchInsertExecutor).insert(any(), any());
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("dead-letter-recovery-test", "false",
+                embeddedKafkaBroker);
+        Consumer<String, String> deadLetterConsumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new StringDeserializer()).createConsumer();
+        embeddedKafkaBroker.consumeFromAnEmbeddedTopic(deadLetterConsumer, "post-ingestion-test.DLT");
+
+        // When
+        kafkaTemplate.send("post-ingestion-test", "recovery", validPayload);
+        kafkaTemplate.send("post-ingestion-test", "recovery", RECOVERY_TEST_PAYLOAD).get();
+
+        // Then
+        await().atMost(Duration.ofSeconds(10)).until(() -> postRepository.count() == 1);
+        verify(postBatchInsertExecutor, atLeast(3)).insert(any(), any());
+
+        List<ConsumerRecord<String, String>> deadLetters = new ArrayList<>();
+        KafkaTestUtils.getRecords(deadLetterConsumer, Duration.ofSeconds(3)).forEach(record -> {
+            if (record.key() != null && record.key().equals("recovery")) {
+                deadLetters.add(record);
+            }
+        });
+        deadLetterConsumer.close();
+
+        assertEquals(1, deadLetters.size());
+        assertEquals(RECOVERY_TEST_PAYLOAD, deadLetters.get(0).value());
+        assertEquals(1, postRepository.count());
+        assertEquals("Recovered", postRepository.findAll().get(0).getTitle());
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.example.jsontoxml2.service.likes;
+
+import com.example.jsontoxml2.mapper.PostMapper;
+import com.example.jsontoxml2.mapper.UserMapper;
+import com.example.jsontoxml2.model.dto.post.PostEventType;
+import com.example.jsontoxml2.model.entity.Post;
+import com.example.jsontoxml2.model.entity.User;
+import com.example.jsontoxml2.repository.post.PostRepository;
+import com.example.jsontoxml2.service.cache.CacheInvalidationBus;
+import com.example.jsontoxml2.service.cache.CacheInvalidationKind;
+import com.example.jsontoxml2.service.cache.PostInfoCache;
+import com.example.jsontoxml2.service.cdc.PostChangeStream;
+import com.example.jsontoxml2.service.counter.PostCounterStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostLikeAccumulatorTest {
+
+    private static final long POST_ID = 1L;
+    private static final long USER_ID = 7L;
+
+    @TempDir
+    private Path tempDir;
+
+    private PostRepository postRepository;
+    private PostInfoCache postInfoCache;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private PostCounterStore postCounterStore;
+    private PostChangeStream postChangeStream;
+    private PostLikeAccumulator postLikeAccumulator;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        postInfoCache = mock(PostInfoCache.class);
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        postCounterStore = mock(PostCounterStore.class);
+        postChangeStream = mock(PostChangeStream.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(postRepository.lockForUpdate(anyCollection())).thenReturn(List.of(post(5)));
+
+        postLikeAccumulator = new PostLikeAccumulator(postRepository, transactionTemplate, postInfoCache,
+                cacheInvalidationBus, postCounterStore, postChangeStream, new PostMapper(new UserMapper()));
+        ReflectionTestUtils.setField(postLikeAccumulator, "spillFile", tempDir.resolve("likes.log"));
+    }
+
+    @Test
+    void testFlush_WhenLikesAddedConcurrently_ThanWritesOneCoalescedDelta() throws Exception {
+        // Given
+        int threads = 8;
+        int likesPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int like = 0; like < likesPerThread; like++) {
+                    postLikeAccumulator.add(POST_ID, 1);
+                }
+                postLikeAccumulator.add(POST_ID, -1);
+                return null;
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        postLikeAccumulator.flush();
+        postLikeAccumulator.flush();
+
+        // Then
+        long expectedDelta = (long) threads * likesPerThread - threads;
+        verify(postRepository, times(1)).addLikes(Map.of(POST_ID, expectedDelta));
+        verify(postCounterStore).recordLikesChanged(USER_ID, true, 5, (int) (5 + expectedDelta));
+        verify(postInfoCache).evict(POST_ID);
+        verify(cacheInvalidationBus).publish(CacheInvalidationKind.POST, POST_ID);
+    }
+
+    @Test
+    void testFlush_ThanChangeEventCarriesTheNewLikesCount() {
+        postLikeAccumulator.add(POST_ID, 3);
+
+        postLikeAccumulator.flush();
+
+        verify(postChangeStream).appendEvents(argThat(events -> events.size() == 1
+                && events.get(0).getType() == PostEventType.UPDATED
+                && events.get(0).getPostId() == POST_ID
+                && events.get(0).getLikesCount() == 8));
+    }
+
+    @Test
+    void testFlush_WhenLikesCancelOut_ThanNothingIsWritten() {
+        postLikeAccumulator.add(POST_ID, 1);
+        postLikeAccumulator.add(POST_ID, -1);
+
+        postLikeAccumulator.flush();
+
+        verify(postRepository, never()).addLikes(any());
+    }
+
+    @Test
+    void testFlush_WhenUnlikesExceedLikes_ThanCounterMovesToZero() {
+        postLikeAccumulator.add(POST_ID, -10);
+
+        postLikeAccumulator.flush();
+
+        verify(postCounterStore).recordLikesChanged(USER_ID, true, 5, 0);
+    }
+
+    @Test
+    void testFlush_WhenCounterBucketMoves_ThanUserCountsAreInvalidated() {
+        when(postCounterStore.recordLikesChanged(USER_ID, true, 5, 15)).thenReturn(true);
+        postLikeAccumulator.add(POST_ID, 10);
+
+        postLikeAccumulator.flush();
+
+        verify(cacheInvalidationBus).publish(CacheInvalidationKind.USER_POST_COUNTS, USER_ID);
+    }
+
+    @Test
+    void testFlush_WhenWriteFails_ThanDeltasAreRetriedOnNextFlush() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+                .doNothing()
+                .when(postRepository).addLikes(any());
+        postLikeAccumulator.add(POST_ID, 3);
+
+        // When
+        postLikeAccumulator.flush();
+
+        // Then
+        verify(postCounterStore, never()).recordLikesChanged(anyLong(), any(), any(), any());
+        verify(postInfoCache, never()).evict(POST_ID);
+
+        postLikeAccumulator.add(POST_ID, 2);
+        postLikeAccumulator.flush();
+
+        verify(postRepository).addLikes(Map.of(POST_ID, 3L));
+        verify(postRepository).addLikes(Map.of(POST_ID, 5L));
+        verify(postCounterStore).recordLikesChanged(USER_ID, true, 5, 10);
+    }
+
+    @Test
+    void testShutdown_WhenWriteFails_ThanPendingLikesAreSpilledAndReplayed() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+                .doNothing()
+                .when(postRepository).addLikes(any());
+        postLikeAccumulator.add(POST_ID, 4);
+
+        // When
+        postLikeAccumulator.shutdown();
+
+        // Then
+        Path spillFile = tempDir.resolve("likes.log");
+        assertTrue(Files.exists(spillFile));
+
+        postLikeAccumulator.replaySpilledLikes();
+        assertFalse(Files.exists(spillFile));
+
+        postLikeAccumulator.flush();
+        verify(postRepository, times(2)).addLikes(Map.of(POST_ID, 4L));
+    }
+
+    private static Post post(int likesCount) {
+        User user = new User();
+        user.setId(USER_ID);
+        return new Post(POST_ID, "Title", "Content", true, likesCount, user, null);
+    }
+
+}
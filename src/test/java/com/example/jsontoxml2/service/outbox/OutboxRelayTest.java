@@ -0,0 +1,197 @@
+package com.example.jsontoxml2.service.outbox;
+
+import com.example.jsontoxml2.Main;
+import com.example.jsontoxml2.model.dto.user.UserInfoDto;
+import com.example.jsontoxml2.model.dto.user.UserSaveDto;
+import com.example.jsontoxml2.repository.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        properties = {
+                "spring.liquibase.enabled=false",
+                "posts.search.index-dir=",
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "posts.cache.invalidation.enabled=false",
+                "outbox.enabled=true",
+                "outbox.relay.poll-interval-ms=50",
+                "posts.ingestion.enabled=false"
+        },
+        classes = Main.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@EmbeddedKafka(partitions = 1, topics = {"outbox-test", "outbox-poison-test", "email-topic"})
+class OutboxRelayTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Test
+    void testRelay_ThanEventsArePublishedInOrderAndRemoved() throws Exception {
+        // Given
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-test", "false", embeddedKafkaBroker);
+        Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, "outbox-test");
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                outboxWriter.append("outbox-test", "key-1", ("event-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        // Then
+        List<ConsumerRecord<String, byte[]>> received = new ArrayList<>();
+        KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 3).forEach(received::add);
+        consumer.close();
+
+        assertEquals(3, received.size());
+        long previousOutboxId = Long.MIN_VALUE;
+        for (int i = 0; i < 3; i++) {
+            ConsumerRecord<String, byte[]> record = received.get(i);
+            assertEquals("key-1", record.key());
+            assertEquals("event-" + i, new String(record.value(), StandardCharsets.UTF_8));
+            assertNotNull(record.headers().lastHeader(OutboxRelay.OUTBOX_ID_HEADER));
+            long outboxId = ByteBuffer.wrap(record.headers().lastHeader(OutboxRelay.OUTBOX_ID_HEADER).value()).getLong();
+            assertTrue(outboxId > previousOutboxId);
+            previousOutboxId = outboxId;
+        }
+        await().atMost(Duration.ofSeconds(10)).until(() -> outboxEventRepository.count() == 0);
+        assertEquals(3, meterRegistry.get("outbox.events.relay").tag("topic", "outbox-test").timer().count());
+        assertEquals(0, meterRegistry.get("outbox.events.pending").gauge().value());
+    }
+
+    @Test
+    void testRelay_WhenShardHeadKeepsFailing_ThanOtherShardsDrainAndTheEventIsParked() throws Exception {
+        // Given
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-poison-test", "false",
+                embeddedKafkaBroker);
+        Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, "outbox-poison-test");
+        String failingShardKey = keyForShard(0);
+        String healthyShardKey = keyForShard(1);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", Integer.MAX_VALUE);
+
+        try {
+            // When
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxWriter.append("outbox-poison-test", failingShardKey, new byte[1_048_576]);
+                outboxWriter.append("outbox-poison-test", failingShardKey,
+                        "after-poison".getBytes(StandardCharsets.UTF_8));
+                outboxWriter.append("outbox-poison-test", healthyShardKey,
+                        "healthy".getBytes(StandardCharsets.UTF_8));
+            });
+
+            // Then
+            ConsumerRecord<String, byte[]> healthy = KafkaTestUtils.getSingleRecord(consumer,
+                    "outbox-poison-test", Duration.ofSeconds(10));
+            assertEquals(healthyShardKey, healthy.key());
+            await().atMost(Duration.ofSeconds(10)).until(() -> outboxEventRepository.findAll().stream()
+                    .anyMatch(event -> event.getEventKey().equals(failingShardKey) && event.getAttempts() > 1));
+            assertEquals(2, outboxEventRepository.countPending());
+
+            ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+            ConsumerRecord<String, byte[]> afterPoison = KafkaTestUtils.getSingleRecord(consumer,
+                    "outbox-poison-test", Duration.ofSeconds(10));
+            assertEquals("after-poison", new String(afterPoison.value(), StandardCharsets.UTF_8));
+            await().atMost(Duration.ofSeconds(10)).until(() -> outboxEventRepository.countPending() == 0);
+            assertEquals(1, outboxEventRepository.countParked());
+        } finally {
+            ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 10);
+            consumer.close();
+            outboxEventRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void testAddUser_ThanSignupEmailIsDeliveredByTheRelay() throws Exception {
+        // Given
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("signup-test", "false", embeddedKafkaBroker);
+        Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, "email-topic");
+        UserSaveDto userSaveDto = new UserSaveDto("signup user", "signup.user@example.com");
+
+        // When
+        MvcResult mvcResult = mvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userSaveDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        // Then
+        UserInfoDto savedUser = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), UserInfoDto.class);
+        ConsumerRecord<String, byte[]> record = KafkaTestUtils.getSingleRecord(consumer, "email-topic",
+                Duration.ofSeconds(10));
+        consumer.close();
+
+        assertEquals(String.valueOf(savedUser.getId()), record.key());
+        assertEquals(userSaveDto.getEmail(), new String(record.value(), StandardCharsets.UTF_8));
+        assertNotNull(record.headers().lastHeader(OutboxRelay.OUTBOX_ID_HEADER));
+    }
+
+    private static String keyForShard(int shard) {
+        for (int candidate = 0; ; candidate++) {
+            String key = "key-" + candidate;
+            if (Math.floorMod(key.hashCode(), 16) == shard) {
+                return key;
+            }
+        }
+    }
+
+}